@@ -0,0 +1,129 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.cc.impl
+
+import org.gradle.integtests.fixtures.BuildOperationsFixture
+
+import java.util.regex.Pattern
+
+class ConfigurationCacheNestedBuildsLoadIntegrationTest extends AbstractConfigurationCacheIntegrationTest {
+    static final Pattern LOAD_NESTED_BUILD_STATE = Pattern.compile("Load configuration cache state of .*")
+
+    def operations = new BuildOperationsFixture(executer, temporaryFolder)
+
+    def setup() {
+        ["one", "two"].each { name ->
+            file("$name/settings.gradle") << """
+                rootProject.name = '$name'
+            """
+            file("$name/build.gradle") << """
+                tasks.register('greet') {
+                    def greeting = 'hello from $name'
+                    doLast { println greeting }
+                }
+            """
+        }
+        file("buildSrc/src/main/java/Lib.java") << """
+            public class Lib {
+                public static String message() { return "hello from buildSrc"; }
+            }
+        """
+        settingsFile << """
+            includeBuild 'one'
+            includeBuild 'two'
+        """
+        buildFile << """
+            tasks.register('greet') {
+                dependsOn gradle.includedBuild('one').task(':greet')
+                dependsOn gradle.includedBuild('two').task(':greet')
+                def message = Lib.message()
+                doLast { println message }
+            }
+        """
+    }
+
+    def "loads the state of included builds and buildSrc in parallel"() {
+        def configurationCache = newConfigurationCacheFixture()
+
+        when:
+        configurationCacheRun "greet"
+
+        then:
+        configurationCache.assertStateStored()
+
+        when:
+        configurationCacheRun "greet"
+
+        then:
+        configurationCache.assertStateLoaded()
+        outputContains("hello from one")
+        outputContains("hello from two")
+        outputContains("hello from buildSrc")
+        def loadedBuilds = operations.all(LOAD_NESTED_BUILD_STATE)*.displayName
+        loadedBuilds.size() >= 2
+        loadedBuilds.any { it.contains("one") }
+        loadedBuilds.any { it.contains("two") }
+    }
+
+    def "loads the state of included builds sequentially when parallel load is disabled"() {
+        def configurationCache = newConfigurationCacheFixture()
+
+        when:
+        configurationCacheRun "greet", "-Dorg.gradle.configuration-cache.internal.parallel-load=false"
+
+        then:
+        configurationCache.assertStateStored()
+
+        when:
+        configurationCacheRun "greet", "-Dorg.gradle.configuration-cache.internal.parallel-load=false"
+
+        then:
+        configurationCache.assertStateLoaded()
+        outputContains("hello from one")
+        outputContains("hello from two")
+        outputContains("hello from buildSrc")
+        operations.none(LOAD_NESTED_BUILD_STATE)
+    }
+
+    def "reports the failure to load the state of one included build"() {
+        file("two/build.gradle") << """
+            class FailsOnLoad implements Serializable {
+                private void readObject(ObjectInputStream input) throws IOException, ClassNotFoundException {
+                    throw new IOException("cannot load the state of two")
+                }
+            }
+
+            tasks.register('broken') {
+                def value = new FailsOnLoad()
+                doLast { println value }
+            }
+        """
+        buildFile << """
+            tasks.named('greet') {
+                dependsOn gradle.includedBuild('two').task(':broken')
+            }
+        """
+
+        when:
+        configurationCacheFails "greet"
+
+        then:
+        failureCauseContains("cannot load the state of two")
+        // the failure of the single failing build is reported as is, not wrapped into a multiple failures report
+        outputDoesNotContain("Multiple build operations failed")
+    }
+}
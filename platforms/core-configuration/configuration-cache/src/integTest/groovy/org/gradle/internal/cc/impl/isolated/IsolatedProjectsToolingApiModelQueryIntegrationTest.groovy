@@ -422,4 +422,69 @@ class IsolatedProjectsToolingApiModelQueryIntegrationTest extends AbstractIsolat
         then:
         fixture.assertModelLoaded()
     }
+
+    def "carries over fingerprint of reused projects when entry is updated"() {
+        given:
+        withSomeToolingModelBuilderPluginInBuildSrc()
+        includeProjects("a", "b")
+        file("a/build.gradle") << """
+            plugins.apply(my.MyPlugin)
+        """
+        file("b/build.gradle") << """
+            plugins.apply(my.MyPlugin)
+        """
+
+        when:
+        withIsolatedProjects()
+        runBuildAction(new FetchCustomModelForEachProject())
+
+        then:
+        fixture.assertModelStored {
+            projectsConfigured(":buildSrc", ":", ":a", ":b")
+            buildModelCreated()
+            modelsCreated(":a", ":b")
+        }
+
+        when:
+        file("a/build.gradle") << """
+            myExtension.message = 'this is project a'
+        """
+
+        and:
+        withIsolatedProjects()
+        runBuildAction(new FetchCustomModelForEachProject())
+
+        then:
+        fixture.assertModelUpdated {
+            fileChanged("a/build.gradle")
+            projectsConfigured(":buildSrc", ":")
+            modelsCreated(":a")
+            modelsReused(":", ":b", ":buildSrc")
+        }
+
+        when:
+        // The fingerprint of project b was carried over from the check when the entry was updated for project a
+        file("b/build.gradle") << """
+            myExtension.message = 'this is project b'
+        """
+
+        and:
+        withIsolatedProjects()
+        runBuildAction(new FetchCustomModelForEachProject())
+
+        then:
+        fixture.assertModelUpdated {
+            fileChanged("b/build.gradle")
+            projectsConfigured(":buildSrc", ":")
+            modelsCreated(":b")
+            modelsReused(":", ":a", ":buildSrc")
+        }
+
+        when:
+        withIsolatedProjects()
+        runBuildAction(new FetchCustomModelForEachProject())
+
+        then:
+        fixture.assertModelLoaded()
+    }
 }
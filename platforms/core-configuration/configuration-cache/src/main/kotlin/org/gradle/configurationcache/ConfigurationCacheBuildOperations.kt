@@ -72,11 +72,18 @@ private
 object WorkGraphLoadDetails : ConfigurationCacheLoadBuildOperationType.Details
 
 
+/**
+ * @param uncompressedSize the size of the state after decompression, or `null` when state files are not compressed
+ */
 internal
-data class WorkGraphLoadResult(val stateFiles: List<File>, val originInvocationId: String? = null) : ConfigurationCacheLoadBuildOperationType.Result {
-    override fun getCacheEntrySize(): Long = stateFiles.asSequence()
-        .filter { it.isFile }
-        .sumOf { it.length() }
+data class WorkGraphLoadResult(
+    val stateFiles: List<File>,
+    val originInvocationId: String? = null,
+    val uncompressedSize: Long? = null
+) : ConfigurationCacheLoadBuildOperationType.Result {
+    override fun getCacheEntrySize(): Long = sizeOf(stateFiles)
+
+    override fun getUncompressedCacheEntrySize(): Long = uncompressedSize ?: cacheEntrySize
 
     override fun getOriginBuildInvocationId(): String? = originInvocationId
 }
@@ -86,14 +93,27 @@ private
 object WorkGraphStoreDetails : ConfigurationCacheStoreBuildOperationType.Details
 
 
+/**
+ * @param uncompressedSize the size of the state before compression, or `null` when state files are not compressed
+ */
 internal
-data class WorkGraphStoreResult(val stateFiles: List<File>, val storeFailure: Throwable?) : ConfigurationCacheStoreBuildOperationType.Result {
-    override fun getCacheEntrySize(): Long = stateFiles.asSequence()
-        .filter { it.isFile }
-        .sumOf { it.length() }
+data class WorkGraphStoreResult(
+    val stateFiles: List<File>,
+    val storeFailure: Throwable?,
+    val uncompressedSize: Long? = null
+) : ConfigurationCacheStoreBuildOperationType.Result {
+    override fun getCacheEntrySize(): Long = sizeOf(stateFiles)
+
+    override fun getUncompressedCacheEntrySize(): Long = uncompressedSize ?: cacheEntrySize
 }
 
 
+private
+fun sizeOf(stateFiles: List<File>): Long = stateFiles.asSequence()
+    .filter { it.isFile }
+    .sumOf { it.length() }
+
+
 internal
 fun BuildOperationRunner.withModelStoreOperation(block: () -> ModelStoreResult): Unit =
     run(object : RunnableBuildOperation {
@@ -36,6 +36,7 @@ import org.gradle.internal.serialize.graph.WriteContext
 import org.gradle.internal.service.scopes.Scope
 import org.gradle.internal.service.scopes.ServiceScope
 import org.gradle.util.Path
+import java.io.File
 import java.io.InputStream
 import java.io.OutputStream
 
@@ -43,6 +44,12 @@ import java.io.OutputStream
 internal
 interface ConfigurationCacheBuildTreeIO : ConfigurationCacheOperationIO {
 
+    /**
+     * The total size of the given state files before compression, as counted by the stream that last wrote or read each of them.
+     * Files not written or read through a compressing stream count with their size on disk.
+     */
+    fun uncompressedSizeOf(stateFiles: List<File>): Long
+
     fun writeCacheEntryDetailsTo(
         buildStateRegistry: BuildStateRegistry,
         intermediateModels: Map<ModelKey, BlockAddress>,
@@ -96,15 +103,7 @@ interface ConfigurationCacheBuildTreeIO : ConfigurationCacheOperationIO {
         specialDecoders: SpecialDecoders = SpecialDecoders(),
         customClassDecoder: ClassDecoder? = null,
         readOperation: suspend MutableReadContext.(ConfigurationCacheCodecs) -> R
-    ): R =
-        withReadContextFor(
-            stateFile.stateFile.name,
-            stateFile.stateType,
-            stateFile::inputStream,
-            specialDecoders,
-            customClassDecoder,
-            readOperation
-        )
+    ): R
 
     fun <R> withReadContextFor(
         name: String,
@@ -127,16 +126,7 @@ interface ConfigurationCacheBuildTreeIO : ConfigurationCacheOperationIO {
         specialEncoders: SpecialEncoders = SpecialEncoders(),
         customClassEncoder: ClassEncoder? = null,
         writeOperation: suspend WriteContext.(ConfigurationCacheCodecs) -> R
-    ): R =
-        withWriteContextFor(
-            stateFile.stateFile.name,
-            stateFile.stateType,
-            stateFile::outputStream,
-            profile,
-            specialEncoders,
-            customClassEncoder,
-            writeOperation
-        )
+    ): R
 
     fun <R> withWriteContextFor(
         name: String,
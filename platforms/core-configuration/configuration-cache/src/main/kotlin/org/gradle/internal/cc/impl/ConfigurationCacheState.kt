@@ -50,6 +50,7 @@ import org.gradle.internal.build.StandAloneNestedBuild
 import org.gradle.internal.build.event.BuildEventListenerRegistryInternal
 import org.gradle.internal.build.event.BuildEventListenerRegistryInternal.Subscription
 import org.gradle.internal.buildoption.FeatureFlags
+import org.gradle.internal.buildtree.BuildModelParameters
 import org.gradle.internal.buildtree.BuildTreeWorkGraph
 import org.gradle.internal.cc.base.serialize.IsolateOwners
 import org.gradle.internal.cc.base.serialize.service
@@ -68,7 +69,12 @@ import org.gradle.internal.extensions.core.serviceOf
 import org.gradle.internal.extensions.stdlib.uncheckedCast
 import org.gradle.internal.file.FileSystemDefaultExcludesProvider
 import org.gradle.internal.flow.services.BuildFlowScope
+import org.gradle.internal.operations.BuildOperationContext
+import org.gradle.internal.operations.BuildOperationDescriptor
+import org.gradle.internal.operations.BuildOperationExecutor
 import org.gradle.internal.operations.BuildOperationProgressEventEmitter
+import org.gradle.internal.operations.MultipleBuildOperationFailures
+import org.gradle.internal.operations.RunnableBuildOperation
 import org.gradle.internal.scopeids.id.BuildInvocationScopeId
 import org.gradle.internal.serialize.codecs.core.IsolateContextSource
 import org.gradle.internal.serialize.graph.MutableReadContext
@@ -318,9 +324,59 @@ class ConfigurationCacheState(
 
     private
     suspend fun MutableReadContext.readBuildsInTree(rootBuild: ConfigurationCacheBuild): List<CachedBuildState> {
-        return readList {
+        val builds = readList {
             readBuildState(rootBuild)
         }
+        val nestedBuildStates = readNestedBuildStates(
+            builds.filterIsInstance<BuildToLoad.Nested>().map { it.build }
+        ).iterator()
+        return builds.map { build ->
+            when (build) {
+                is BuildToLoad.Loaded -> build.state
+                is BuildToLoad.Nested -> nestedBuildStates.next()
+            }
+        }
+    }
+
+    /**
+     * Each nested build has its own state files, so once all builds in the tree
+     * have been registered their states can be decoded independently of each other.
+     */
+    private
+    fun ReadContext.readNestedBuildStates(builds: List<ConfigurationCacheBuild>): List<CachedBuildState> {
+        if (builds.size < 2 || !host.service<BuildModelParameters>().isConfigurationCacheParallelLoad) {
+            return builds.map { readNestedBuildState(it) }
+        }
+        val baseContext = this
+        val states = arrayOfNulls<CachedBuildState>(builds.size)
+        try {
+            host.service<BuildOperationExecutor>().runAllWithAccessToProjectState<RunnableBuildOperation> {
+                builds.forEachIndexed { index, build ->
+                    add(LoadNestedBuildStateOperation(build) {
+                        states[index] = baseContext.readNestedBuildState(build)
+                    })
+                }
+            }
+        } catch (e: MultipleBuildOperationFailures) {
+            throw e.causes.singleOrNull() ?: e
+        }
+        return states.map { it!! }
+    }
+
+    private
+    class LoadNestedBuildStateOperation(
+        private val build: ConfigurationCacheBuild,
+        private val action: () -> Unit
+    ) : RunnableBuildOperation {
+
+        override fun run(context: BuildOperationContext) {
+            action()
+        }
+
+        override fun description(): BuildOperationDescriptor.Builder =
+            BuildOperationDescriptor
+                .displayName("Load configuration cache state of ${build.state.displayName.displayName}")
+                .progressDisplayName(build.state.identityPath.asString())
     }
 
     private
@@ -354,12 +410,12 @@ class ConfigurationCacheState(
     }
 
     private
-    suspend fun MutableReadContext.readBuildState(rootBuild: ConfigurationCacheBuild): CachedBuildState {
+    suspend fun MutableReadContext.readBuildState(rootBuild: ConfigurationCacheBuild): BuildToLoad {
         return when (readEnum<BuildType>()) {
-            BuildType.BuildWithNoWork -> readBuildWithNoWork(rootBuild)
-            BuildType.RootBuild -> readBuildContent(rootBuild)
-            BuildType.IncludedBuild -> readIncludedBuild(rootBuild)
-            BuildType.BuildSrcBuild -> readBuildSrcBuild(rootBuild)
+            BuildType.BuildWithNoWork -> BuildToLoad.Loaded(readBuildWithNoWork(rootBuild))
+            BuildType.RootBuild -> BuildToLoad.Loaded(readBuildContent(rootBuild))
+            BuildType.IncludedBuild -> BuildToLoad.Nested(readIncludedBuild(rootBuild))
+            BuildType.BuildSrcBuild -> BuildToLoad.Nested(readBuildSrcBuild(rootBuild))
         }
     }
 
@@ -381,15 +437,13 @@ class ConfigurationCacheState(
     }
 
     private
-    suspend fun ReadContext.readIncludedBuild(rootBuild: ConfigurationCacheBuild): CachedBuildState {
-        val build = withGradleIsolate(rootBuild.gradle, userTypesCodec) {
+    suspend fun ReadContext.readIncludedBuild(rootBuild: ConfigurationCacheBuild): ConfigurationCacheBuild =
+        withGradleIsolate(rootBuild.gradle, userTypesCodec) {
             val settingsFile = read() as File?
             val definition = readIncludedBuildDefinition(rootBuild)
             val buildPath = read() as Path
             rootBuild.addIncludedBuild(definition, settingsFile, buildPath)
         }
-        return readNestedBuildState(build)
-    }
 
     private
     suspend fun WriteContext.writeBuildSrcBuild(state: StandAloneNestedBuild, buildTreeState: StoredBuildTreeState) {
@@ -407,13 +461,11 @@ class ConfigurationCacheState(
     }
 
     private
-    suspend fun ReadContext.readBuildSrcBuild(rootBuild: ConfigurationCacheBuild): CachedBuildState {
-        val build = withGradleIsolate(rootBuild.gradle, userTypesCodec) {
+    suspend fun ReadContext.readBuildSrcBuild(rootBuild: ConfigurationCacheBuild): ConfigurationCacheBuild =
+        withGradleIsolate(rootBuild.gradle, userTypesCodec) {
             val ownerIdentifier = readNonNull<BuildIdentifier>()
             rootBuild.getBuildSrcOf(ownerIdentifier)
         }
-        return readNestedBuildState(build)
-    }
 
     private
     fun ReadContext.readNestedBuildState(build: ConfigurationCacheBuild): CachedBuildState {
@@ -934,6 +986,18 @@ class StoredBuildTreeState(
 )
 
 
+private
+sealed interface BuildToLoad {
+
+    class Loaded(val state: CachedBuildState) : BuildToLoad
+
+    /**
+     * A nested build that has been registered but whose state is yet to be decoded.
+     */
+    class Nested(val build: ConfigurationCacheBuild) : BuildToLoad
+}
+
+
 internal
 enum class BuildType {
     BuildWithNoWork, RootBuild, IncludedBuild, BuildSrcBuild
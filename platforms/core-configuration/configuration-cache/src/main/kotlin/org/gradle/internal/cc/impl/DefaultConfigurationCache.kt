@@ -693,7 +693,11 @@ class DefaultConfigurationCache internal constructor(
             val stateStoreResult = runAndStore(stateType = StateType.Work) { stateFile: ConfigurationCacheStateFile ->
                 writeConfigurationCacheState(rootBuild, stateFile)
             }
-            WorkGraphStoreResult(stateStoreResult.accessedFiles, stateStoreResult.value)
+            WorkGraphStoreResult(
+                stateStoreResult.accessedFiles,
+                stateStoreResult.value,
+                uncompressedSizeOf(stateStoreResult.accessedFiles)
+            )
         }
     }
 
@@ -751,10 +755,19 @@ class DefaultConfigurationCache internal constructor(
                 LoadResultMetadata(buildInvocationId) to workGraph
             }
             val (intermediateLoadResult, actionResult) = storeLoadResult.value
-            WorkGraphLoadResult(storeLoadResult.accessedFiles, intermediateLoadResult.originInvocationId) to actionResult
+            WorkGraphLoadResult(
+                storeLoadResult.accessedFiles,
+                intermediateLoadResult.originInvocationId,
+                uncompressedSizeOf(storeLoadResult.accessedFiles)
+            ) to actionResult
         }
     }
 
+    private
+    fun uncompressedSizeOf(stateFiles: List<File>): Long? =
+        if (startParameter.isCompressing) cacheIO.uncompressedSizeOf(stateFiles)
+        else null
+
     private
     inline fun <T> runAtConfigurationTime(block: () -> T): T {
         prepareConfigurationTimeBarrier()
@@ -782,7 +795,8 @@ class DefaultConfigurationCache internal constructor(
     private
     fun ConfigurationCacheRepository.Layout.writeConfigurationCacheFingerprint(reusedProjects: Set<Path>) {
         // Collect fingerprint entries for any projects whose state was reused from cache
-        if (reusedProjects.isNotEmpty()) {
+        val collectedFromCheck = cacheFingerprintController.collectCheckedFingerprintForReusedProjects(reusedProjects)
+        if (reusedProjects.isNotEmpty() && !collectedFromCheck) {
             readFingerprintFile(fileForRead(StateType.ProjectFingerprint)) { host ->
                 cacheFingerprintController.run {
                     collectFingerprintForReusedProjects(host, reusedProjects)
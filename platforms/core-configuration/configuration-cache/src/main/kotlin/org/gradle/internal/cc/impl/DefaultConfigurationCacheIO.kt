@@ -30,6 +30,8 @@ import org.gradle.internal.cc.impl.cacheentry.EntryDetails
 import org.gradle.internal.cc.impl.cacheentry.ModelKey
 import org.gradle.internal.cc.impl.fingerprint.ClassLoaderScopesFingerprintController
 import org.gradle.internal.cc.impl.initialization.ConfigurationCacheStartParameter
+import org.gradle.internal.cc.impl.io.CompressingOutputStream
+import org.gradle.internal.cc.impl.io.DecompressingInputStream
 import org.gradle.internal.cc.impl.io.safeWrap
 import org.gradle.internal.cc.impl.problems.ConfigurationCacheProblems
 import org.gradle.internal.cc.impl.serialize.ConfigurationCacheCodecs
@@ -94,6 +96,7 @@ import java.io.Closeable
 import java.io.File
 import java.io.InputStream
 import java.io.OutputStream
+import java.util.concurrent.ConcurrentHashMap
 
 
 internal
@@ -272,14 +275,14 @@ class DefaultConfigurationCacheIO internal constructor(
     private
     fun stringEncoderFor(stringsFile: ConfigurationCacheStateFile): StringEncoder =
         if (isUsingParallelStringDeduplicationStrategy(stringsFile))
-            outputStreamFor(stringsFile.stateType, stringsFile::outputStream).let(::ParallelStringEncoder)
+            outputStreamFor(stringsFile.stateType, stringsFile::outputStream, stringsFile.stateFile.file).let(::ParallelStringEncoder)
         else
             InlineStringEncoder
 
     private
     fun stringDecoderFor(stringsFile: ConfigurationCacheStateFile): StringDecoder =
         if (isUsingParallelStringDeduplicationStrategy(stringsFile))
-            inputStreamFor(stringsFile.stateType, stringsFile::inputStream).let(::ParallelStringDecoder)
+            inputStreamFor(stringsFile.stateType, stringsFile::inputStream, stringsFile.stateFile.file).let(::ParallelStringDecoder)
         else
             InlineStringDecoder
 
@@ -386,8 +389,15 @@ class DefaultConfigurationCacheIO internal constructor(
     fun writeContextFor(
         stateFile: ConfigurationCacheStateFile,
         specialEncoders: SpecialEncoders,
+        customClassEncoder: ClassEncoder? = null,
         profile: () -> String
-    ) = writeContextFor(stateFile.stateFile.name, stateFile.stateType, stateFile::outputStream, profile, specialEncoders)
+    ) = writeContextFor(
+        stateFile.stateFile.name,
+        encoderFor(stateFile.stateType, stateFile::outputStream, stateFile.stateFile.file),
+        profile,
+        specialEncoders,
+        customClassEncoder
+    )
 
     /**
      * @param profile the unique name associated with the output stream for debugging space usage issues
@@ -400,36 +410,83 @@ class DefaultConfigurationCacheIO internal constructor(
         specialEncoders: SpecialEncoders,
         customClassEncoder: ClassEncoder?
     ): Pair<CloseableWriteContext, ConfigurationCacheCodecs> =
-        encoderFor(stateType, outputStream).let { encoder ->
-            writeContextFor(
-                name,
-                encoder,
-                loggingTracerFor(profile, encoder),
-                codecs,
-                specialEncoders,
-                customClassEncoder
-            ) to codecs
-        }
+        writeContextFor(name, encoderFor(stateType, outputStream), profile, specialEncoders, customClassEncoder)
+
+    private
+    fun writeContextFor(
+        name: String,
+        encoder: PositionAwareEncoder,
+        profile: () -> String,
+        specialEncoders: SpecialEncoders,
+        customClassEncoder: ClassEncoder?
+    ): Pair<CloseableWriteContext, ConfigurationCacheCodecs> =
+        writeContextFor(
+            name,
+            encoder,
+            loggingTracerFor(profile, encoder),
+            codecs,
+            specialEncoders,
+            customClassEncoder
+        ) to codecs
 
     override fun encoderFor(stateType: StateType, outputStream: () -> OutputStream): PositionAwareEncoder =
-        outputStreamFor(stateType, outputStream).let { stream ->
+        encoderFor(stateType, outputStream, null)
+
+    private
+    fun encoderFor(stateType: StateType, outputStream: () -> OutputStream, stateFile: File?): PositionAwareEncoder =
+        outputStreamFor(stateType, outputStream, stateFile).let { stream ->
             if (isUsingSequentialStringDeduplicationStrategy(stateType)) StringDeduplicatingKryoBackedEncoder(stream)
             else KryoBackedEncoder(stream)
         }
 
     override fun decoderFor(stateType: StateType, inputStream: () -> InputStream): Decoder =
-        inputStreamFor(stateType, inputStream).let { stream ->
+        decoderFor(stateType, inputStream, null)
+
+    private
+    fun decoderFor(stateType: StateType, inputStream: () -> InputStream, stateFile: File?): Decoder =
+        inputStreamFor(stateType, inputStream, stateFile).let { stream ->
             if (isUsingSequentialStringDeduplicationStrategy(stateType)) StringDeduplicatingKryoBackedDecoder(stream)
             else KryoBackedDecoder(stream)
         }
 
+    override fun uncompressedSizeOf(stateFiles: List<File>): Long =
+        stateFiles.sumOf { uncompressedStateFileSizes[it] ?: it.length() }
+
+    /**
+     * The size before compression of each state file, as counted by the stream that last wrote or read it.
+     * Counting per stream keeps the sizes of state files that are written or read concurrently apart.
+     */
     private
-    fun outputStreamFor(stateType: StateType, outputStream: () -> OutputStream) =
-        maybeEncrypt(stateType, outputStream, encryptionService::outputStream)
+    val uncompressedStateFileSizes = ConcurrentHashMap<File, Long>()
 
     private
-    fun inputStreamFor(stateType: StateType, inputStream: () -> InputStream) =
-        maybeEncrypt(stateType, inputStream, encryptionService::inputStream)
+    fun recordUncompressedSize(stateFile: File?, size: Long) {
+        if (stateFile != null) {
+            uncompressedStateFileSizes[stateFile] = size
+        }
+    }
+
+    /**
+     * State is compressed before it is encrypted, as encrypted data doesn't compress.
+     *
+     * @param stateFile the state file to record the uncompressed size for, if any
+     */
+    private
+    fun outputStreamFor(stateType: StateType, outputStream: () -> OutputStream, stateFile: File?): OutputStream =
+        maybeCompress({ maybeEncrypt(stateType, outputStream, encryptionService::outputStream) }) {
+            CompressingOutputStream(it) { size -> recordUncompressedSize(stateFile, size) }
+        }
+
+    private
+    fun inputStreamFor(stateType: StateType, inputStream: () -> InputStream, stateFile: File?): InputStream =
+        maybeCompress({ maybeEncrypt(stateType, inputStream, encryptionService::inputStream) }) {
+            DecompressingInputStream(it) { size -> recordUncompressedSize(stateFile, size) }
+        }
+
+    private
+    fun <I : Closeable, O : I> maybeCompress(inner: () -> I, outer: (I) -> O): I =
+        if (startParameter.isCompressing) safeWrap(inner, outer)
+        else inner()
 
     private
     fun <I : Closeable, O : I> maybeEncrypt(stateType: StateType, inner: () -> I, outer: (I) -> O): I =
@@ -483,6 +540,17 @@ class DefaultConfigurationCacheIO internal constructor(
             codecs
         ) to codecs
 
+    override fun <R> withReadContextFor(
+        stateFile: ConfigurationCacheStateFile,
+        specialDecoders: SpecialDecoders,
+        customClassDecoder: ClassDecoder?,
+        readOperation: suspend MutableReadContext.(ConfigurationCacheCodecs) -> R
+    ): R =
+        readContextFor(stateFile, specialDecoders, customClassDecoder)
+            .let { (context, codecs) ->
+                withReadContextFor(context, codecs, readOperation)
+            }
+
     override fun <R> withReadContextFor(
         name: String,
         stateType: StateType,
@@ -503,6 +571,18 @@ class DefaultConfigurationCacheIO internal constructor(
     ): R =
         readContext.readWith(codecs, readOperation)
 
+    override fun <R> withWriteContextFor(
+        stateFile: ConfigurationCacheStateFile,
+        profile: () -> String,
+        specialEncoders: SpecialEncoders,
+        customClassEncoder: ClassEncoder?,
+        writeOperation: suspend WriteContext.(ConfigurationCacheCodecs) -> R
+    ): R =
+        writeContextFor(stateFile, specialEncoders, customClassEncoder, profile)
+            .let { (context, codecs) ->
+                context.writeWith(codecs, writeOperation)
+            }
+
     override fun <R> withWriteContextFor(
         name: String,
         stateType: StateType,
@@ -520,12 +600,13 @@ class DefaultConfigurationCacheIO internal constructor(
     private
     fun readContextFor(
         stateFile: ConfigurationCacheStateFile,
-        specialDecoders: SpecialDecoders = SpecialDecoders()
+        specialDecoders: SpecialDecoders = SpecialDecoders(),
+        customClassDecoder: ClassDecoder? = null
     ) = readContextFor(
         stateFile.stateFile.name,
-        stateFile.stateType,
-        stateFile::inputStream,
-        specialDecoders
+        decoderFor(stateFile.stateType, stateFile::inputStream, stateFile.stateFile.file),
+        specialDecoders,
+        customClassDecoder
     )
 
     private
@@ -36,11 +36,17 @@ import org.gradle.internal.extensions.stdlib.filterKeysByPrefix
 import org.gradle.internal.extensions.stdlib.uncheckedCast
 import org.gradle.internal.file.FileType
 import org.gradle.internal.hash.HashCode
+import org.gradle.internal.operations.BuildOperationContext
+import org.gradle.internal.operations.BuildOperationDescriptor
+import org.gradle.internal.operations.BuildOperationExecutor
+import org.gradle.internal.operations.RunnableBuildOperation
 import org.gradle.internal.serialize.graph.ReadContext
 import org.gradle.internal.util.NumberUtil.ordinal
 import org.gradle.util.Path
 import java.io.File
 import java.net.URI
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicReferenceArray
 import java.util.function.Consumer
 
 
@@ -49,7 +55,10 @@ typealias InvalidationReason = StructuredMessage
 
 
 internal
-class ConfigurationCacheFingerprintChecker(private val host: Host) {
+class ConfigurationCacheFingerprintChecker(
+    private val host: Host,
+    private val buildOperationExecutor: BuildOperationExecutor
+) {
 
     interface Host : ConfigurationCacheInputFileChecker.Host {
         val isEncrypted: Boolean
@@ -77,31 +86,70 @@ class ConfigurationCacheFingerprintChecker(private val host: Host) {
 
     suspend fun ReadContext.checkBuildScopedFingerprint(): InvalidationReason? {
         // TODO: log some debug info
+        // Consecutive file system inputs are checked together before the next input is checked, so inputs are still checked in order
+        val fileSystemInputs = mutableListOf<ConfigurationCacheFingerprint>()
         while (true) {
-            when (val input = read()) {
+            val input = try {
+                read()
+            } catch (e: Exception) {
+                // Decoding an input may fail when an earlier input is out-of-date, for example when the build logic has changed
+                firstReasonFor(fileSystemInputs)?.let { return it }
+                throw e
+            }
+            if (isFileSystemInput(input)) {
+                fileSystemInputs.add(input as ConfigurationCacheFingerprint)
+                continue
+            }
+            // An input that is not specific to a project. If it is out-of-date, then invalidate the whole cache entry and skip any further checks
+            firstReasonFor(fileSystemInputs)?.let { return it }
+            when (input) {
                 null -> break
-                is ConfigurationCacheFingerprint -> {
-                    // An input that is not specific to a project. If it is out-of-date, then invalidate the whole cache entry and skip any further checks
-                    val reason = check(input)
-                    if (reason != null) {
-                        return reason
-                    }
-                }
-
+                is ConfigurationCacheFingerprint -> check(input)?.let { return it }
                 else -> error("Unexpected configuration cache fingerprint: $input")
             }
         }
         return null
     }
 
+    /**
+     * Returns the reason the first of the given file system [inputs] is out-of-date, and clears them.
+     */
+    private
+    fun firstReasonFor(inputs: MutableList<ConfigurationCacheFingerprint>): InvalidationReason? {
+        if (inputs.isEmpty()) {
+            return null
+        }
+        val fileSystemChecks = FileSystemInputChecks(inputs) { Unit }
+        val reason = inputs.indices.firstNotNullOfOrNull { index -> fileSystemChecks.reasonFor(index, inputs[index]) }
+        inputs.clear()
+        return reason
+    }
+
+    suspend fun ReadContext.checkProjectScopedFingerprint(): CheckedFingerprint.InvalidProjects? =
+        checkProjectScopedFingerprint(readProjectScopedFingerprint())
+
+    suspend fun ReadContext.readProjectScopedFingerprint(): List<ProjectSpecificFingerprint> {
+        val inputs = mutableListOf<ProjectSpecificFingerprint>()
+        while (true) {
+            when (val input = read()) {
+                null -> break
+                is ProjectSpecificFingerprint -> inputs.add(input)
+                else -> error("Unexpected configuration cache fingerprint: $input")
+            }
+        }
+        return inputs
+    }
+
     @Suppress("NestedBlockDepth")
-    suspend fun ReadContext.checkProjectScopedFingerprint(): CheckedFingerprint.InvalidProjects? {
+    fun checkProjectScopedFingerprint(inputs: List<ProjectSpecificFingerprint>): CheckedFingerprint.InvalidProjects? {
         // TODO: log some debug info
+        val fileSystemChecks = FileSystemInputChecks(
+            inputs.map { (it as? ProjectSpecificFingerprint.ProjectFingerprint)?.value }
+        ) { index -> (inputs[index] as ProjectSpecificFingerprint.ProjectFingerprint).projectIdentityPath }
         var firstInvalidatedPath: Path? = null
         val projects = hashMapOf<Path, ProjectInvalidationState>()
-        while (true) {
-            when (val input = read()) {
-                null -> break
+        inputs.forEachIndexed { index, input ->
+            when (input) {
                 is ProjectSpecificFingerprint.ProjectIdentity -> {
                     val state = projects.entryFor(input.identityPath)
                     state.buildPath = input.buildPath
@@ -113,7 +161,7 @@ class ConfigurationCacheFingerprintChecker(private val host: Host) {
                     // Don't check a value for a project that is already out-of-date
                     val state = projects.entryFor(input.projectIdentityPath)
                     if (!state.isInvalid) {
-                        val reason = check(input.value)
+                        val reason = fileSystemChecks.reasonFor(index, input.value)
                         if (reason != null) {
                             if (firstInvalidatedPath == null) {
                                 firstInvalidatedPath = input.projectIdentityPath
@@ -137,8 +185,6 @@ class ConfigurationCacheFingerprintChecker(private val host: Host) {
                         referrer.consumedBy(target)
                     }
                 }
-
-                else -> error("Unexpected configuration cache fingerprint: $input")
             }
         }
         return firstInvalidatedPath?.let { path ->
@@ -156,27 +202,66 @@ class ConfigurationCacheFingerprintChecker(private val host: Host) {
             // TODO(mlopatkin): this implementation duplicates some inputs, e.g. a build file input is stored even if the project is reused.
             when (val input = read()) {
                 null -> break
+                is ProjectSpecificFingerprint -> visitEntryForProjects(input, reusedProjects, consumer)
+            }
+        }
+    }
 
-                is ProjectSpecificFingerprint.ProjectIdentity ->
-                    if (reusedProjects.contains(input.identityPath)) {
-                        consumer.accept(input)
-                    }
+    /**
+     * Checks the file system inputs among the given [inputs] up front, in parallel, so they don't have to be checked one at a time
+     * while the fingerprint is replayed in order.
+     *
+     * File system inputs are checked by reading the virtual file system and have no side effects, so checking them early or
+     * concurrently doesn't change the outcome. All other inputs are left to the caller, as some of them mutate state
+     * (system properties, loaded Gradle properties) that later inputs depend on.
+     *
+     * Once an input is found to be out-of-date, the inputs after it with the same [scopeOf] are no longer checked,
+     * as the replay never asks for their result.
+     */
+    private
+    inner class FileSystemInputChecks(
+        private val inputs: List<ConfigurationCacheFingerprint?>,
+        private val scopeOf: (Int) -> Any
+    ) {
+        private
+        val results = AtomicReferenceArray<Any?>(inputs.size)
 
-                is ProjectSpecificFingerprint.ProjectFingerprint ->
-                    if (reusedProjects.contains(input.projectIdentityPath)) {
-                        consumer.accept(input)
+        private
+        val firstInvalidInputs = ConcurrentHashMap<Any, Int>()
+
+        init {
+            val indices = inputs.indices.filter { isFileSystemInput(inputs[it]) }
+            if (indices.size > FILE_SYSTEM_CHECK_BATCH_SIZE) {
+                buildOperationExecutor.runAll<RunnableBuildOperation> { queue ->
+                    indices.chunked(FILE_SYSTEM_CHECK_BATCH_SIZE).forEach { batch ->
+                        queue.add(FileSystemInputCheckOperation { batch.forEach(::checkAt) })
                     }
+                }
+            }
+        }
 
-                is ProjectSpecificFingerprint.ProjectDependency ->
-                    if (reusedProjects.contains(input.consumingProject)) {
-                        consumer.accept(input)
-                    }
+        /**
+         * Returns the reason the [input] at [index] is out-of-date, checking it now if it wasn't checked up front.
+         */
+        fun reasonFor(index: Int, input: ConfigurationCacheFingerprint): InvalidationReason? =
+            when (val result = results.get(index)) {
+                null -> check(input)
+                UpToDate -> null
+                else -> result as InvalidationReason
+            }
 
-                is ProjectSpecificFingerprint.CoupledProjects ->
-                    if (reusedProjects.contains(input.referringProject)) {
-                        consumer.accept(input)
-                    }
+        private
+        fun checkAt(index: Int) {
+            val scope = scopeOf(index)
+            // An earlier input of the same scope is already out-of-date, so the result of this one will never be used
+            if (index > (firstInvalidInputs[scope] ?: Int.MAX_VALUE)) {
+                return
             }
+            val reason = check(inputs[index]!!)
+            if (reason != null) {
+                firstInvalidInputs.merge(scope, index, ::minOf)
+            }
+            results.set(index, reason ?: UpToDate)
         }
     }
 
@@ -523,3 +608,69 @@ class ConfigurationCacheFingerprintChecker(private val host: Host) {
         }
     }
 }
+
+
+/**
+ * The number of file system inputs checked by a single build operation, and the number of inputs below which
+ * they are checked in order on the calling thread instead.
+ */
+private
+const val FILE_SYSTEM_CHECK_BATCH_SIZE = 32
+
+
+/**
+ * Marks an input that was checked up front and found to be up-to-date.
+ */
+private
+object UpToDate
+
+
+private
+fun isFileSystemInput(input: Any?) = when (input) {
+    is ConfigurationCacheFingerprint.InputFile,
+    is ConfigurationCacheFingerprint.DirectoryChildren,
+    is ConfigurationCacheFingerprint.InputFileSystemEntry -> true
+
+    else -> false
+}
+
+
+private
+class FileSystemInputCheckOperation(private val action: () -> Unit) : RunnableBuildOperation {
+    override fun run(context: BuildOperationContext) = action()
+
+    override fun description(): BuildOperationDescriptor.Builder =
+        BuildOperationDescriptor.displayName("Check configuration cache file system inputs")
+}
+
+
+/**
+ * Same as [ConfigurationCacheFingerprintChecker.visitEntriesForProjects], for a fingerprint that was already read by
+ * [ConfigurationCacheFingerprintChecker.readProjectScopedFingerprint].
+ */
+internal
+fun visitEntriesForProjects(inputs: List<ProjectSpecificFingerprint>, reusedProjects: Set<Path>, consumer: Consumer<ProjectSpecificFingerprint>) {
+    inputs.forEach { input ->
+        visitEntryForProjects(input, reusedProjects, consumer)
+    }
+}
+
+
+private
+fun visitEntryForProjects(input: ProjectSpecificFingerprint, reusedProjects: Set<Path>, consumer: Consumer<ProjectSpecificFingerprint>) {
+    if (reusedProjects.contains(projectOf(input))) {
+        consumer.accept(input)
+    }
+}
+
+
+/**
+ * The project the given entry of the project specific fingerprint belongs to.
+ */
+internal
+fun projectOf(input: ProjectSpecificFingerprint): Path = when (input) {
+    is ProjectSpecificFingerprint.ProjectIdentity -> input.identityPath
+    is ProjectSpecificFingerprint.ProjectFingerprint -> input.projectIdentityPath
+    is ProjectSpecificFingerprint.ProjectDependency -> input.consumingProject
+    is ProjectSpecificFingerprint.CoupledProjects -> input.referringProject
+}
@@ -55,6 +55,7 @@ import org.gradle.internal.fingerprint.DirectorySensitivity
 import org.gradle.internal.fingerprint.LineEndingSensitivity
 import org.gradle.internal.hash.HashCode
 import org.gradle.internal.instrumentation.agent.AgentStatus
+import org.gradle.internal.operations.BuildOperationExecutor
 import org.gradle.internal.scripts.ProjectScopedScriptResolution
 import org.gradle.internal.scripts.ScriptFileResolverListeners
 import org.gradle.internal.serialize.graph.ReadContext
@@ -98,6 +99,7 @@ class ConfigurationCacheFingerprintController internal constructor(
     private val configurationTimeBarrier: ConfigurationTimeBarrier,
     private val buildStateRegistry: BuildStateRegistry,
     private val propertiesController: GradlePropertiesController,
+    private val buildOperationExecutor: BuildOperationExecutor,
 ) : Stoppable, ProjectScopedScriptResolution {
 
     interface Host {
@@ -284,6 +286,13 @@ class ConfigurationCacheFingerprintController internal constructor(
     private
     var writingState: WritingState = Idle()
 
+    /**
+     * The entries of the valid projects of the project specific fingerprint read while checking an entry that has invalid projects,
+     * see [collectCheckedFingerprintForReusedProjects].
+     */
+    private
+    var checkedProjectScopedFingerprint: List<ProjectSpecificFingerprint>? = null
+
     private
     val projectComponentObservationListener = ProjectObservationListener(this)
 
@@ -334,6 +343,7 @@ class ConfigurationCacheFingerprintController internal constructor(
 
     override fun stop() {
         writingState = writingState.dispose()
+        checkedProjectScopedFingerprint = null
     }
 
     suspend fun ReadContext.checkBuildScopedFingerprint(host: Host) =
@@ -343,7 +353,14 @@ class ConfigurationCacheFingerprintController internal constructor(
 
     suspend fun ReadContext.checkProjectScopedFingerprint(host: Host) =
         fingerprintChecker(host).run {
-            checkProjectScopedFingerprint()
+            val fingerprint = readProjectScopedFingerprint()
+            checkProjectScopedFingerprint(fingerprint).also { invalidProjects ->
+                // Only an entry with invalid projects gets updated, carrying over the fingerprint of the other projects.
+                // The entries of invalid projects are never carried over, so they are not kept
+                checkedProjectScopedFingerprint = invalidProjects?.let {
+                    fingerprint.filter { input -> projectOf(input) !in invalidProjects.all }
+                }
+            }
         }
 
     suspend fun ReadContext.collectFingerprintForReusedProjects(host: Host, reusedProjects: Set<Path>): Unit =
@@ -353,9 +370,29 @@ class ConfigurationCacheFingerprintController internal constructor(
             }
         }
 
+    /**
+     * Collects the fingerprint of the given reused projects from the project specific fingerprint that was read when the entry being
+     * updated was checked, which avoids reading and decoding it again.
+     *
+     * The fingerprint is released once collected, or when there are no reused projects to collect it for.
+     *
+     * @return `false` when that fingerprint is not available, in which case it has to be collected from the entry with [collectFingerprintForReusedProjects]
+     */
+    fun collectCheckedFingerprintForReusedProjects(reusedProjects: Set<Path>): Boolean {
+        val fingerprint = checkedProjectScopedFingerprint ?: return false
+        checkedProjectScopedFingerprint = null
+        if (reusedProjects.isEmpty()) {
+            return true
+        }
+        visitEntriesForProjects(fingerprint, reusedProjects) { input ->
+            writingState.append(input)
+        }
+        return true
+    }
+
     private
     fun fingerprintChecker(host: Host): ConfigurationCacheFingerprintChecker =
-        ConfigurationCacheFingerprintChecker(CacheFingerprintCheckerHost(host))
+        ConfigurationCacheFingerprintChecker(CacheFingerprintCheckerHost(host), buildOperationExecutor)
 
     private
     fun addListener(listener: ConfigurationCacheFingerprintWriter) {
@@ -86,6 +86,14 @@ class ConfigurationCacheStartParameter internal constructor(
      */
     val isSharingObjects: Boolean = options.getInternalFlag("org.gradle.configuration-cache.internal.share-objects", true)
 
+    /**
+     * Whether configuration cache state files should be compressed
+     * in order to save space on disk, at the cost of some CPU time on store and load.
+     *
+     * The default is `false`.
+     */
+    val isCompressing: Boolean = options.getInternalFlag("org.gradle.configuration-cache.internal.compress", false)
+
     /**
      * See [org.gradle.initialization.StartParameterBuildOptions.ConfigurationCacheFineGrainedPropertyTracking].
      */
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.cc.impl.io
+
+import java.io.InputStream
+import java.io.OutputStream
+import java.util.zip.Deflater
+import java.util.zip.DeflaterOutputStream
+import java.util.zip.Inflater
+import java.util.zip.InflaterInputStream
+
+
+private
+const val COMPRESSION_BUFFER_SIZE = 64 * 1024
+
+
+/**
+ * Compresses everything written to it into [out], favouring speed over ratio.
+ *
+ * @param onClose receives the number of uncompressed bytes written, once the stream is closed
+ */
+internal
+class CompressingOutputStream(
+    out: OutputStream,
+    private val onClose: (Long) -> Unit
+) : DeflaterOutputStream(out, Deflater(Deflater.BEST_SPEED), COMPRESSION_BUFFER_SIZE) {
+
+    private
+    var uncompressedSize = 0L
+
+    private
+    var closed = false
+
+    // `write(Int)` delegates to this method
+    override fun write(b: ByteArray, off: Int, len: Int) {
+        super.write(b, off, len)
+        uncompressedSize += len
+    }
+
+    override fun close() {
+        if (closed) {
+            return
+        }
+        closed = true
+        try {
+            super.close()
+        } finally {
+            // Not ended by `super.close()`, as it was not created by the stream
+            def.end()
+            onClose(uncompressedSize)
+        }
+    }
+}
+
+
+/**
+ * Decompresses what was written by [CompressingOutputStream].
+ *
+ * @param onClose receives the number of uncompressed bytes read, once the stream is closed
+ */
+internal
+class DecompressingInputStream(
+    `in`: InputStream,
+    private val onClose: (Long) -> Unit
+) : InflaterInputStream(`in`, Inflater(), COMPRESSION_BUFFER_SIZE) {
+
+    private
+    var uncompressedSize = 0L
+
+    private
+    var closed = false
+
+    // `read()` delegates to this method
+    override fun read(b: ByteArray, off: Int, len: Int): Int =
+        super.read(b, off, len).also { if (it > 0) uncompressedSize += it }
+
+    override fun close() {
+        if (closed) {
+            return
+        }
+        closed = true
+        try {
+            super.close()
+        } finally {
+            // Not ended by `super.close()`, as it was not created by the stream
+            inf.end()
+            onClose(uncompressedSize)
+        }
+    }
+}
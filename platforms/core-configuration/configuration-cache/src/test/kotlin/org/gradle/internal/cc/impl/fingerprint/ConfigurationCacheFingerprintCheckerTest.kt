@@ -28,6 +28,7 @@ import org.gradle.internal.configuration.problems.StructuredMessageBuilder
 import org.gradle.internal.file.FileType
 import org.gradle.internal.hash.HashCode
 import org.gradle.internal.hash.TestHashCodes
+import org.gradle.internal.operations.TestBuildOperationExecutor
 import org.gradle.internal.serialize.Decoder
 import org.gradle.internal.serialize.Encoder
 import org.gradle.internal.serialize.graph.BeanStateReader
@@ -46,10 +47,14 @@ import org.gradle.internal.serialize.graph.runReadOperation
 import org.gradle.internal.serialize.graph.runWriteOperation
 import org.hamcrest.CoreMatchers.equalTo
 import org.hamcrest.MatcherAssert.assertThat
+import org.gradle.util.Path
+import org.junit.Assert.assertThrows
 import org.junit.Test
 import org.mockito.kotlin.any
 import org.mockito.kotlin.doReturn
 import org.mockito.kotlin.mock
+import org.mockito.kotlin.times
+import org.mockito.kotlin.verify
 import java.io.File
 import java.io.InputStream
 import java.io.OutputStream
@@ -261,6 +266,97 @@ class ConfigurationCacheFingerprintCheckerTest {
         )
     }
 
+    @Test
+    fun `first changed input file is reported when input files are checked in batches`() {
+        val inputFiles = (1..100).map { File("input-$it.txt") }
+        val changedFiles = setOf(inputFiles[41], inputFiles[73])
+        assertThat(
+            checkFingerprintGiven(
+                mock {
+                    on { hashCodeAndTypeOf(any()) }.then { invocation ->
+                        val file = invocation.getArgument<File>(0)
+                        val hash = if (file in changedFiles) TestHashCodes.hashCodeFrom(2) else TestHashCodes.hashCodeFrom(1)
+                        hash to FileType.RegularFile
+                    }
+                    on { displayNameOf(any()) }.then { invocation ->
+                        invocation.getArgument<File>(0).name
+                    }
+                },
+                inputFiles.map { ConfigurationCacheFingerprint.InputFile(it, TestHashCodes.hashCodeFrom(1)) }
+            ),
+            equalTo("file 'input-42.txt' has changed")
+        )
+    }
+
+    @Test
+    fun `no input file is checked after the first changed input file`() {
+        val inputFiles = (1..100).map { File("input-$it.txt") }
+        val host = changedInputFilesHost(setOf(inputFiles[41]))
+        assertThat(
+            checkFingerprintGiven(host, inputFiles.map { ConfigurationCacheFingerprint.InputFile(it, TestHashCodes.hashCodeFrom(1)) }),
+            equalTo("file 'input-42.txt' has changed")
+        )
+        verify(host, times(42)).hashCodeAndTypeOf(any())
+    }
+
+    @Test
+    fun `input files of other projects are checked after a changed input file of a project`() {
+        val projectA = Path.path(":a")
+        val projectB = Path.path(":b")
+        val inputFiles = (1..100).map { File("input-$it.txt") }
+        val host = changedInputFilesHost(setOf(inputFiles[0], inputFiles[51]))
+        val fingerprint = inputFiles.mapIndexed { index, file ->
+            ProjectSpecificFingerprint.ProjectFingerprint(
+                if (index % 2 == 0) projectA else projectB,
+                ConfigurationCacheFingerprint.InputFile(file, TestHashCodes.hashCodeFrom(1))
+            )
+        }
+
+        val invalidProjects = ConfigurationCacheFingerprintChecker(host, TestBuildOperationExecutor())
+            .checkProjectScopedFingerprint(fingerprint)!!
+
+        assertThat(invalidProjects.firstProjectPath, equalTo(projectA))
+        assertThat(invalidProjects.all.keys, equalTo(setOf(projectA, projectB)))
+        // All input files of project :a after the first one are skipped, as are those of project :b after 'input-52.txt'
+        verify(host, times(1 + 26)).hashCodeAndTypeOf(any())
+    }
+
+    @Test
+    fun `input that cannot be decoded is not reported when an earlier input file has changed`() {
+        val inputFile = File("input.txt")
+        assertThat(
+            checkFingerprintGiven(
+                changedInputFilesHost(setOf(inputFile)),
+                listOf(ConfigurationCacheFingerprint.InputFile(inputFile, TestHashCodes.hashCodeFrom(1)), UndecodableInput)
+            ),
+            equalTo("file 'input.txt' has changed")
+        )
+    }
+
+    @Test
+    fun `input that cannot be decoded is reported when earlier inputs are up-to-date`() {
+        val inputFile = File("input.txt")
+        val failure = assertThrows(IllegalStateException::class.java) {
+            checkFingerprintGiven(
+                changedInputFilesHost(emptySet()),
+                listOf(ConfigurationCacheFingerprint.InputFile(inputFile, TestHashCodes.hashCodeFrom(1)), UndecodableInput)
+            )
+        }
+        assertThat(failure.message, equalTo("cannot decode input"))
+    }
+
+    private
+    fun changedInputFilesHost(changedFiles: Set<File>): ConfigurationCacheFingerprintChecker.Host = mock {
+        on { hashCodeAndTypeOf(any()) }.then { invocation ->
+            val file = invocation.getArgument<File>(0)
+            val hash = if (file in changedFiles) TestHashCodes.hashCodeFrom(2) else TestHashCodes.hashCodeFrom(1)
+            hash to FileType.RegularFile
+        }
+        on { displayNameOf(any()) }.then { invocation ->
+            invocation.getArgument<File>(0).name
+        }
+    }
+
     private
     fun invalidationReasonForInitScriptsChange(
         from: Iterable<Pair<File, HashCode>>,
@@ -286,15 +382,21 @@ class ConfigurationCacheFingerprintCheckerTest {
     fun checkFingerprintGiven(
         host: ConfigurationCacheFingerprintChecker.Host,
         fingerprint: ConfigurationCacheFingerprint
+    ): String? = checkFingerprintGiven(host, listOf(fingerprint))
+
+    private
+    fun checkFingerprintGiven(
+        host: ConfigurationCacheFingerprintChecker.Host,
+        fingerprints: List<Any>
     ): String? {
 
         val readContext = recordWritingOf {
-            write(fingerprint)
+            fingerprints.forEach { write(it) }
             write(null)
         }
 
         val checkedFingerprint = readContext.runReadOperation {
-            ConfigurationCacheFingerprintChecker(host).run {
+            ConfigurationCacheFingerprintChecker(host, TestBuildOperationExecutor()).run {
                 checkBuildScopedFingerprint()
             }
         }
@@ -443,6 +545,12 @@ class ConfigurationCacheFingerprintCheckerTest {
             undefined()
     }
 
+    /**
+     * A recorded value that fails to be read back, like an input that can no longer be decoded.
+     */
+    private
+    object UndecodableInput
+
     private
     class PlaybackReadContext(values: Iterable<Any?>) : ReadContext {
 
@@ -457,7 +565,9 @@ class ConfigurationCacheFingerprintCheckerTest {
 
         @Suppress("unchecked_cast")
         private
-        fun <T : Any?> next(): T = reader.next() as T
+        fun <T : Any?> next(): T = reader.next().also {
+            if (it === UndecodableInput) throw IllegalStateException("cannot decode input")
+        } as T
 
         override val sharedIdentities: ReadIdentities
             get() = undefined()
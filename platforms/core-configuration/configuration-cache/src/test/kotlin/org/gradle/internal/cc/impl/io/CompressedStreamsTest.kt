@@ -0,0 +1,64 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.cc.impl.io
+
+import org.hamcrest.CoreMatchers.equalTo
+import org.hamcrest.MatcherAssert.assertThat
+import org.junit.Assert.assertTrue
+import org.junit.Test
+import java.io.ByteArrayInputStream
+import java.io.ByteArrayOutputStream
+
+
+class CompressedStreamsTest {
+
+    @Test
+    fun `round trips content and reports uncompressed sizes`() {
+        val content = "configuration cache state ".repeat(10_000).toByteArray()
+        var written = 0L
+        var read = 0L
+
+        val compressed = ByteArrayOutputStream().also { bytes ->
+            CompressingOutputStream(bytes) { written += it }.use { stream ->
+                stream.write(content, 0, 10)
+                stream.write(content[10].toInt())
+                stream.write(content, 11, content.size - 11)
+            }
+        }.toByteArray()
+
+        val decompressed = DecompressingInputStream(ByteArrayInputStream(compressed)) { read += it }.use {
+            it.readBytes()
+        }
+
+        assertThat(decompressed.toList(), equalTo(content.toList()))
+        assertThat(written, equalTo(content.size.toLong()))
+        assertThat(read, equalTo(content.size.toLong()))
+        assertTrue(compressed.size < content.size)
+    }
+
+    @Test
+    fun `reports size once when closed twice`() {
+        var written = 0L
+
+        val stream = CompressingOutputStream(ByteArrayOutputStream()) { written += it }
+        stream.write(ByteArray(100), 0, 100)
+        stream.close()
+        stream.close()
+
+        assertThat(written, equalTo(100L))
+    }
+}
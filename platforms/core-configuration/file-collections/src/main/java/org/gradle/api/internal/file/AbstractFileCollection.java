@@ -20,8 +20,6 @@
 import org.gradle.api.file.DirectoryTree;
 import org.gradle.api.file.FileCollection;
 import org.gradle.api.file.FileSystemLocation;
-import org.gradle.api.file.FileVisitDetails;
-import org.gradle.api.file.FileVisitor;
 import org.gradle.api.internal.file.collections.DirectoryFileTree;
 import org.gradle.api.internal.file.collections.FileBackedDirectoryFileTree;
 import org.gradle.api.internal.file.collections.FileSystemMirroringFileTree;
@@ -39,7 +37,6 @@
 import org.gradle.api.tasks.util.internal.PatternSets;
 import org.gradle.internal.Cast;
 import org.gradle.internal.Factory;
-import org.gradle.internal.MutableBoolean;
 import org.gradle.internal.deprecation.DocumentedFailure;
 import org.gradle.internal.logging.text.TreeFormatter;
 import org.gradle.util.internal.GUtil;
@@ -297,7 +294,7 @@ public PatternSet getPatterns() {
             @Override
             public void visitFileTreeBackedByFile(File file, FileTreeInternal fileTree, FileSystemMirroringFileTree sourceTree) {
                 // Visit the contents of the tree to generate the tree
-                if (visitAll(sourceTree)) {
+                if (sourceTree.mirrorAllElements()) {
                     fileTrees.add(sourceTree.getMirror());
                 }
             }
@@ -305,27 +302,6 @@ public void visitFileTreeBackedByFile(File file, FileTreeInternal fileTree, File
         return fileTrees;
     }
 
-    /**
-     * Visits all the files of the given tree.
-     */
-    protected static boolean visitAll(FileSystemMirroringFileTree tree) {
-        final MutableBoolean hasContent = new MutableBoolean();
-        tree.visit(new FileVisitor() {
-            @Override
-            public void visitDir(FileVisitDetails dirDetails) {
-                dirDetails.getFile();
-                hasContent.set(true);
-            }
-
-            @Override
-            public void visitFile(FileVisitDetails fileDetails) {
-                fileDetails.getFile();
-                hasContent.set(true);
-            }
-        });
-        return hasContent.get();
-    }
-
     @Override
     public Object addToAntBuilder(Object node, String childNodeName) {
         addToAntBuilder(node, childNodeName, AntType.ResourceCollection);
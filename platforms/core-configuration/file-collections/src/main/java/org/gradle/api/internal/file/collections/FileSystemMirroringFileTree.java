@@ -15,6 +15,10 @@
  */
 package org.gradle.api.internal.file.collections;
 
+import org.gradle.api.file.FileVisitDetails;
+import org.gradle.api.file.FileVisitor;
+import org.gradle.internal.MutableBoolean;
+
 /**
  * A file tree which maintains a local copy of itself on the filesystem.
  */
@@ -24,4 +28,27 @@ public interface FileSystemMirroringFileTree extends MinimalFileTree {
      * elements of this tree before using the returned directory tree.
      */
     DirectoryFileTree getMirror();
+
+    /**
+     * Visits all the elements of this tree, so that the directory tree returned by {@link #getMirror()} contains a copy of all of them.
+     *
+     * @return whether this tree has any elements
+     */
+    default boolean mirrorAllElements() {
+        final MutableBoolean hasContent = new MutableBoolean();
+        visit(new FileVisitor() {
+            @Override
+            public void visitDir(FileVisitDetails dirDetails) {
+                dirDetails.getFile();
+                hasContent.set(true);
+            }
+
+            @Override
+            public void visitFile(FileVisitDetails fileDetails) {
+                fileDetails.getFile();
+                hasContent.set(true);
+            }
+        });
+        return hasContent.get();
+    }
 }
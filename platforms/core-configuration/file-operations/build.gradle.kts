@@ -16,6 +16,7 @@
 
 plugins {
     id("gradlebuild.distribution.api-java")
+    id("gradlebuild.jmh")
 }
 
 description = "Operations on files, such as archiving, copying, deleting"
@@ -36,6 +37,7 @@ packageCycles {
 
 dependencies {
     api(projects.baseServices)
+    api(projects.concurrent)
     api(projects.coreApi)
     api(projects.fileCollections)
     api(projects.fileTemp)
@@ -59,4 +61,6 @@ dependencies {
     implementation(libs.commonsIo)
     implementation(libs.groovyTemplates)
     implementation(libs.slf4jApi)
+
+    jmhImplementation(platform(projects.distributionsDependencies))
 }
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.api.internal.file.archive;
+
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.gradle.api.file.RelativePath;
+import org.gradle.api.internal.DocumentationRegistry;
+import org.gradle.api.internal.file.DefaultFilePermissions;
+import org.gradle.api.internal.file.copy.CopyActionProcessingStream;
+import org.gradle.api.internal.file.copy.DefaultZipCompressor;
+import org.gradle.api.internal.file.copy.FileCopyDetailsInternal;
+import org.gradle.internal.concurrent.DefaultExecutorFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creates a jar with contents similar to a fat jar: many small class files, some larger resources and a few nested jars.
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ZipCopyActionBenchmark {
+    private static final int CLASS_FILES = 4000;
+    private static final int RESOURCES = 100;
+    private static final int NESTED_JARS = 10;
+
+    @Param({"sequential", "parallel"})
+    String mode;
+
+    private final List<FileCopyDetailsInternal> entries = new ArrayList<>();
+    private DefaultExecutorFactory executorFactory;
+    private File tempDir;
+    private File zipFile;
+
+    @Setup
+    public void setup() throws IOException {
+        Random random = new Random(42);
+        for (int i = 0; i < CLASS_FILES; i++) {
+            entries.add(file("org/example/package" + (i / 100) + "/Class" + i + ".class", compressibleBytes(random, 2 * 1024 + random.nextInt(8 * 1024))));
+        }
+        for (int i = 0; i < RESOURCES; i++) {
+            entries.add(file("META-INF/resources/resource" + i + ".txt", compressibleBytes(random, 64 * 1024)));
+        }
+        for (int i = 0; i < NESTED_JARS; i++) {
+            byte[] nestedJar = new byte[2 * 1024 * 1024];
+            random.nextBytes(nestedJar);
+            entries.add(file("lib/library" + i + ".jar", nestedJar));
+        }
+        executorFactory = new DefaultExecutorFactory();
+        tempDir = Files.createTempDirectory("zip-copy-action-benchmark").toFile();
+        zipFile = new File(tempDir, "benchmark.jar");
+    }
+
+    @TearDown
+    public void tearDown() {
+        executorFactory.stop();
+        zipFile.delete();
+        tempDir.delete();
+    }
+
+    @Benchmark
+    public void createJar() {
+        ZipCopyAction action = new ZipCopyAction(zipFile, new DefaultZipCompressor(false, ZipArchiveOutputStream.DEFLATED), new DocumentationRegistry(), "UTF-8", false,
+            mode.equals("parallel") ? executorFactory : null, Runtime.getRuntime().availableProcessors());
+        CopyActionProcessingStream stream = streamAction -> {
+            for (FileCopyDetailsInternal entry : entries) {
+                streamAction.processFile(entry);
+            }
+        };
+        action.execute(stream);
+    }
+
+    /**
+     * Returns bytes from a small alphabet, which deflate about as well as class files do.
+     */
+    private static byte[] compressibleBytes(Random random, int size) {
+        byte[] bytes = new byte[size];
+        for (int i = 0; i < size; i++) {
+            bytes[i] = (byte) ('a' + random.nextInt(16));
+        }
+        return bytes;
+    }
+
+    private static FileCopyDetailsInternal file(String path, byte[] content) {
+        RelativePath relativePath = RelativePath.parse(true, path);
+        DefaultFilePermissions permissions = new DefaultFilePermissions(0644);
+        return (FileCopyDetailsInternal) Proxy.newProxyInstance(ZipCopyActionBenchmark.class.getClassLoader(), new Class<?>[]{FileCopyDetailsInternal.class}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "isDirectory":
+                    return false;
+                case "getRelativePath":
+                    return relativePath;
+                case "getLastModified":
+                    return 0L;
+                case "getPermissions":
+                    return permissions;
+                case "copyTo":
+                    ((OutputStream) args[0]).write(content);
+                    return null;
+                case "toString":
+                    return path;
+                default:
+                    throw new UnsupportedOperationException(method.getName());
+            }
+        });
+    }
+}
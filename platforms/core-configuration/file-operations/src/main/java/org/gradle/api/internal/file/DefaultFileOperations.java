@@ -54,12 +54,14 @@
 import org.gradle.api.tasks.util.internal.PatternSetFactory;
 import org.gradle.internal.Cast;
 import org.gradle.internal.UncheckedException;
+import org.gradle.internal.concurrent.ExecutorFactory;
 import org.gradle.internal.file.Deleter;
 import org.gradle.internal.hash.FileHasher;
 import org.gradle.internal.nativeintegration.filesystem.FileSystem;
 import org.gradle.internal.reflect.Instantiator;
 import org.gradle.internal.resource.local.LocalFileStandInExternalResource;
 import org.gradle.internal.service.ServiceRegistry;
+import org.gradle.internal.work.WorkerLimits;
 import org.gradle.util.internal.ConfigureUtil;
 import org.gradle.util.internal.GFileUtils;
 
@@ -88,6 +90,8 @@ public class DefaultFileOperations implements FileOperations {
     private final ProviderFactory providers;
     private final TemporaryFileProvider temporaryFileProvider;
     private final DecompressionCoordinator decompressionCoordinator;
+    private final ExecutorFactory executorFactory;
+    private final WorkerLimits workerLimits;
 
     public DefaultFileOperations(
         FileResolver fileResolver,
@@ -104,7 +108,9 @@ public DefaultFileOperations(
         TaskDependencyFactory taskDependencyFactory,
         ProviderFactory providers,
         DecompressionCoordinator decompressionCoordinator,
-        TemporaryFileProvider temporaryFileProvider
+        TemporaryFileProvider temporaryFileProvider,
+        ExecutorFactory executorFactory,
+        WorkerLimits workerLimits
     ) {
         this.fileCollectionFactory = fileCollectionFactory;
         this.fileResolver = fileResolver;
@@ -131,6 +137,8 @@ public DefaultFileOperations(
         this.fileSystem = fileSystem;
         this.deleter = deleter;
         this.decompressionCoordinator = decompressionCoordinator;
+        this.executorFactory = executorFactory;
+        this.workerLimits = workerLimits;
     }
 
     @Override
@@ -180,7 +188,7 @@ public ConfigurableFileTree fileTree(Map<String, ?> args) {
     @Override
     public FileTreeInternal zipTree(Object zipPath) {
         Provider<File> fileProvider = asFileProvider(zipPath);
-        return new FileTreeAdapter(new ZipFileTree(fileProvider, fileSystem, directoryFileTreeFactory, fileHasher, decompressionCoordinator, temporaryFileProvider), taskDependencyFactory, patternSetFactory);
+        return new FileTreeAdapter(new ZipFileTree(fileProvider, fileSystem, directoryFileTreeFactory, fileHasher, decompressionCoordinator, temporaryFileProvider, executorFactory, workerLimits.getMaxWorkerCount()), taskDependencyFactory, patternSetFactory);
     }
 
     @Override
@@ -198,7 +206,7 @@ public void exclusiveAccessTo(File expandedDir, Runnable action) {
             }
         };
 
-        return new FileTreeAdapter(new ZipFileTree(fileProvider, fileSystem, directoryFileTreeFactory, fileHasher, nonLockingCache, temporaryFileProvider), taskDependencyFactory, patternSetFactory);
+        return new FileTreeAdapter(new ZipFileTree(fileProvider, fileSystem, directoryFileTreeFactory, fileHasher, nonLockingCache, temporaryFileProvider, executorFactory, workerLimits.getMaxWorkerCount()), taskDependencyFactory, patternSetFactory);
     }
 
     @Override
@@ -324,6 +332,8 @@ public static DefaultFileOperations createSimple(FileResolver fileResolver, File
         TaskDependencyFactory taskDependencyFactory = services.get(TaskDependencyFactory.class);
         DecompressionCoordinator decompressionCoordinator = services.get(DecompressionCoordinator.class);
         TemporaryFileProvider temporaryFileProvider = services.get(TemporaryFileProvider.class);
+        ExecutorFactory executorFactory = services.get(ExecutorFactory.class);
+        WorkerLimits workerLimits = services.get(WorkerLimits.class);
 
         DefaultResourceHandler.Factory resourceHandlerFactory = DefaultResourceHandler.Factory.from(
             fileResolver,
@@ -348,7 +358,9 @@ public static DefaultFileOperations createSimple(FileResolver fileResolver, File
             taskDependencyFactory,
             providers,
             decompressionCoordinator,
-            temporaryFileProvider
+            temporaryFileProvider,
+            executorFactory,
+            workerLimits
         );
     }
 }
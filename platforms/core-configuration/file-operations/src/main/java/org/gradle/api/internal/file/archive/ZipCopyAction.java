@@ -19,6 +19,7 @@
 import org.apache.commons.compress.archivers.zip.Zip64RequiredException;
 import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
 import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.apache.commons.compress.archivers.zip.ZipMethod;
 import org.gradle.api.GradleException;
 import org.gradle.api.file.FileCopyDetails;
 import org.gradle.api.internal.DocumentationRegistry;
@@ -30,23 +31,70 @@
 import org.gradle.api.tasks.WorkResult;
 import org.gradle.api.tasks.WorkResults;
 import org.gradle.internal.IoActions;
+import org.gradle.internal.UncheckedException;
+import org.gradle.internal.concurrent.ExecutorFactory;
+import org.gradle.internal.concurrent.ManagedExecutor;
+import org.jspecify.annotations.Nullable;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
 
 public class ZipCopyAction implements CopyAction {
+    /**
+     * Files with these extensions are already compressed, so deflating them again costs time without making the archive smaller.
+     */
+    private static final Set<String> COMPRESSED_FILE_EXTENSIONS = new HashSet<>(Arrays.asList(
+        "jar", "war", "ear", "zip", "gz", "tgz", "bz2", "xz", "7z", "png", "jpg", "jpeg", "gif", "webp"
+    ));
+    /**
+     * Files larger than this are written to the archive directly instead of being buffered and deflated in parallel. They are always deflated.
+     */
+    private static final int MAX_BUFFERED_ENTRY_SIZE = 4 * 1024 * 1024;
+    /**
+     * The maximum number of bytes of entry contents held in memory while waiting to be written to the archive.
+     */
+    private static final long MAX_PENDING_BYTES = 64 * 1024 * 1024;
 
     private final File zipFile;
     private final ZipCompressor compressor;
     private final DocumentationRegistry documentationRegistry;
     private final String encoding;
     private final boolean preserveFileTimestamps;
+    @Nullable
+    private final ExecutorFactory deflateExecutorFactory;
+    private final int maxDeflateThreads;
 
     public ZipCopyAction(File zipFile, ZipCompressor compressor, DocumentationRegistry documentationRegistry, String encoding, boolean preserveFileTimestamps) {
+        this(zipFile, compressor, documentationRegistry, encoding, preserveFileTimestamps, null, 1);
+    }
+
+    /**
+     * @param deflateExecutorFactory when not null, file entries are deflated in parallel using threads from this factory and
+     * files that are already compressed are stored. Entries are still written in the order in which they are visited.
+     * @param maxDeflateThreads the maximum number of threads that deflate file entries in parallel, usually the maximum number of workers of the build.
+     */
+    public ZipCopyAction(File zipFile, ZipCompressor compressor, DocumentationRegistry documentationRegistry, String encoding, boolean preserveFileTimestamps, @Nullable ExecutorFactory deflateExecutorFactory, int maxDeflateThreads) {
         this.zipFile = zipFile;
         this.compressor = compressor;
         this.documentationRegistry = documentationRegistry;
         this.encoding = encoding;
         this.preserveFileTimestamps = preserveFileTimestamps;
+        this.deflateExecutorFactory = deflateExecutorFactory;
+        this.maxDeflateThreads = maxDeflateThreads;
     }
 
     @Override
@@ -61,7 +109,18 @@ public WorkResult execute(final CopyActionProcessingStream stream) {
 
         try {
             IoActions.withResource(zipOutStr, outputStream -> {
-                stream.process(new StreamAction(outputStream, encoding));
+                if (deflateExecutorFactory == null) {
+                    stream.process(new StreamAction(outputStream, encoding));
+                } else {
+                    ManagedExecutor executor = deflateExecutorFactory.create("Deflate entries of " + zipFile.getName(), maxDeflateThreads);
+                    try {
+                        ParallelDeflateStreamAction action = new ParallelDeflateStreamAction(outputStream, encoding, executor);
+                        stream.process(action);
+                        action.finish();
+                    } finally {
+                        executor.stop();
+                    }
+                }
             });
         } catch (Exception e) {
             if (e.getCause() instanceof Zip64RequiredException) {
@@ -123,6 +182,204 @@ private void visitDir(FileCopyDetails dirDetails) {
         }
     }
 
+    /**
+     * Reads file contents on the visiting thread, which is required for files from archives, and deflates them on the given executor.
+     * Entries are written to the archive in the order in which they are visited, so the archive is the same as a sequentially written one,
+     * except that files that are already compressed are stored. When zip64 is allowed, entries also don't get the zip64 extra field
+     * that a sequentially written entry reserves while its size is not yet known.
+     */
+    private class ParallelDeflateStreamAction implements CopyActionProcessingStreamAction {
+        private final ZipArchiveOutputStream zipOutStr;
+        private final StreamAction sequentialAction;
+        private final ManagedExecutor executor;
+        private final Deque<Future<PreparedEntry>> pendingEntries = new ArrayDeque<>();
+        private long pendingBytes;
+
+        public ParallelDeflateStreamAction(ZipArchiveOutputStream zipOutStr, String encoding, ManagedExecutor executor) {
+            this.zipOutStr = zipOutStr;
+            this.sequentialAction = new StreamAction(zipOutStr, encoding);
+            this.executor = executor;
+        }
+
+        @Override
+        public void processFile(FileCopyDetailsInternal details) {
+            if (details.isDirectory()) {
+                pendingEntries.add(CompletableFuture.completedFuture(new PreparedEntry(details, null, new byte[0])));
+            } else {
+                visitFile(details);
+            }
+        }
+
+        private void visitFile(FileCopyDetails fileDetails) {
+            ZipArchiveEntry archiveEntry = new ZipArchiveEntry(fileDetails.getRelativePath().getPathString());
+            archiveEntry.setTime(getArchiveTimeFor(fileDetails));
+            archiveEntry.setUnixMode(UnixStat.FILE_FLAG | fileDetails.getPermissions().toUnixNumeric());
+            boolean store = isCompressed(fileDetails);
+            if (store) {
+                archiveEntry.setMethod(ZipMethod.STORED.getCode());
+            }
+
+            EntryContent content = new EntryContent(fileDetails, archiveEntry);
+            try {
+                fileDetails.copyTo(content);
+                content.close();
+            } catch (Exception e) {
+                throw new GradleException(String.format("Could not add %s to ZIP '%s'.", fileDetails, zipFile), e);
+            }
+            if (content.isWrittenDirectly()) {
+                return;
+            }
+
+            pendingBytes += content.size();
+            pendingEntries.add(executor.submit(() -> new PreparedEntry(fileDetails, archiveEntry, store ? content.stored() : content.deflated())));
+            while (pendingEntries.size() > 1 && pendingBytes > MAX_PENDING_BYTES) {
+                writeNextEntry();
+            }
+        }
+
+        private boolean isCompressed(FileCopyDetails fileDetails) {
+            String name = fileDetails.getRelativePath().getLastName();
+            int extensionStart = name.lastIndexOf('.');
+            return extensionStart >= 0 && COMPRESSED_FILE_EXTENSIONS.contains(name.substring(extensionStart + 1).toLowerCase(Locale.ROOT));
+        }
+
+        private void writeNextEntry() {
+            PreparedEntry entry;
+            try {
+                entry = pendingEntries.remove().get();
+            } catch (InterruptedException e) {
+                throw UncheckedException.throwAsUncheckedException(e);
+            } catch (ExecutionException e) {
+                throw UncheckedException.throwAsUncheckedException(e.getCause());
+            }
+            if (entry.archiveEntry == null) {
+                sequentialAction.visitDir(entry.details);
+                return;
+            }
+            pendingBytes -= entry.archiveEntry.getSize();
+            try {
+                zipOutStr.addRawArchiveEntry(entry.archiveEntry, new ByteArrayInputStream(entry.rawContent));
+            } catch (Exception e) {
+                throw new GradleException(String.format("Could not add %s to ZIP '%s'.", entry.details, zipFile), e);
+            }
+        }
+
+        public void finish() {
+            while (!pendingEntries.isEmpty()) {
+                writeNextEntry();
+            }
+        }
+
+        /**
+         * Buffers the contents of a file. Contents larger than {@link #MAX_BUFFERED_ENTRY_SIZE} are written to the archive directly,
+         * after all pending entries.
+         */
+        private class EntryContent extends ByteArrayOutputStream {
+            private final FileCopyDetails fileDetails;
+            private final ZipArchiveEntry archiveEntry;
+            private boolean writtenDirectly;
+
+            EntryContent(FileCopyDetails fileDetails, ZipArchiveEntry archiveEntry) {
+                this.fileDetails = fileDetails;
+                this.archiveEntry = archiveEntry;
+            }
+
+            boolean isWrittenDirectly() {
+                return writtenDirectly;
+            }
+
+            @Override
+            public synchronized void write(int b) {
+                write(new byte[]{(byte) b}, 0, 1);
+            }
+
+            @Override
+            public synchronized void write(byte[] b, int off, int len) {
+                if (!writtenDirectly && count + len > MAX_BUFFERED_ENTRY_SIZE) {
+                    startWritingDirectly();
+                }
+                if (writtenDirectly) {
+                    try {
+                        zipOutStr.write(b, off, len);
+                    } catch (IOException e) {
+                        throw UncheckedException.throwAsUncheckedException(e);
+                    }
+                } else {
+                    super.write(b, off, len);
+                }
+            }
+
+            private void startWritingDirectly() {
+                ParallelDeflateStreamAction.this.finish();
+                writtenDirectly = true;
+                // A stored entry needs its CRC and size before its contents, which are only known once the whole file was read.
+                // So large files are deflated, as they are when written sequentially
+                archiveEntry.setMethod(ZipMethod.DEFLATED.getCode());
+                try {
+                    zipOutStr.putArchiveEntry(archiveEntry);
+                    zipOutStr.write(buf, 0, count);
+                } catch (IOException e) {
+                    throw UncheckedException.throwAsUncheckedException(e);
+                }
+                buf = new byte[0];
+                count = 0;
+            }
+
+            @Override
+            public void close() throws IOException {
+                if (writtenDirectly) {
+                    zipOutStr.closeArchiveEntry();
+                }
+            }
+
+            byte[] stored() {
+                CRC32 crc = new CRC32();
+                crc.update(buf, 0, count);
+                archiveEntry.setCrc(crc.getValue());
+                archiveEntry.setSize(count);
+                archiveEntry.setCompressedSize(count);
+                return count == buf.length ? buf : Arrays.copyOf(buf, count);
+            }
+
+            byte[] deflated() {
+                CRC32 crc = new CRC32();
+                crc.update(buf, 0, count);
+                // The same settings as ZipArchiveOutputStream, so the entry is deflated the same way as when written sequentially
+                Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+                try {
+                    deflater.setInput(buf, 0, count);
+                    deflater.finish();
+                    ByteArrayOutputStream deflated = new ByteArrayOutputStream(Math.max(64, count / 2));
+                    byte[] buffer = new byte[8192];
+                    while (!deflater.finished()) {
+                        int length = deflater.deflate(buffer);
+                        deflated.write(buffer, 0, length);
+                    }
+                    archiveEntry.setMethod(ZipMethod.DEFLATED.getCode());
+                    archiveEntry.setCrc(crc.getValue());
+                    archiveEntry.setSize(count);
+                    archiveEntry.setCompressedSize(deflated.size());
+                    return deflated.toByteArray();
+                } finally {
+                    deflater.end();
+                }
+            }
+        }
+    }
+
+    private static class PreparedEntry {
+        private final FileCopyDetails details;
+        @Nullable
+        private final ZipArchiveEntry archiveEntry;
+        private final byte[] rawContent;
+
+        PreparedEntry(FileCopyDetails details, @Nullable ZipArchiveEntry archiveEntry, byte[] rawContent) {
+            this.details = details;
+            this.archiveEntry = archiveEntry;
+            this.rawContent = rawContent;
+        }
+    }
+
     private long getArchiveTimeFor(FileCopyDetails details) {
         return preserveFileTimestamps ? details.getLastModified() : ZipEntryConstants.CONSTANT_TIME_FOR_ZIP_ENTRIES;
     }
@@ -27,17 +27,30 @@
 import org.gradle.api.internal.file.temp.TemporaryFileProvider;
 import org.gradle.api.provider.Provider;
 import org.gradle.internal.UncheckedException;
+import org.gradle.internal.concurrent.ExecutorFactory;
+import org.gradle.internal.concurrent.ManagedExecutor;
 import org.gradle.internal.file.Chmod;
 import org.gradle.internal.hash.FileHasher;
 
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
 import java.util.Enumeration;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static java.lang.String.format;
 
@@ -49,6 +62,8 @@ public class ZipFileTree extends AbstractArchiveFileTree {
     private final DirectoryFileTreeFactory directoryFileTreeFactory;
     private final FileHasher fileHasher;
     private final TemporaryFileProvider temporaryExtractionDir;
+    private final ExecutorFactory executorFactory;
+    private final int maxInflateThreads;
 
     public ZipFileTree(
         Provider<File> zipFile,
@@ -56,7 +71,9 @@ public ZipFileTree(
         DirectoryFileTreeFactory directoryFileTreeFactory,
         FileHasher fileHasher,
         DecompressionCoordinator decompressionCoordinator,
-        TemporaryFileProvider temporaryExtractionDir
+        TemporaryFileProvider temporaryExtractionDir,
+        ExecutorFactory executorFactory,
+        int maxInflateThreads
     ) {
         super(decompressionCoordinator);
         this.fileProvider = zipFile;
@@ -64,6 +81,8 @@ public ZipFileTree(
         this.directoryFileTreeFactory = directoryFileTreeFactory;
         this.fileHasher = fileHasher;
         this.temporaryExtractionDir = temporaryExtractionDir;
+        this.executorFactory = executorFactory;
+        this.maxInflateThreads = maxInflateThreads;
     }
 
     @Override
@@ -115,6 +134,114 @@ public void visit(FileVisitor visitor) {
         });
     }
 
+    /**
+     * Expands all entries of the zip, inflating the files in parallel. Once all entries are expanded, a marker file recording the number
+     * of expanded files is written next to the expanded directory, which is named after the hash of the zip. Later calls for the same zip
+     * do not need to open it again, as long as the expanded directory still holds that many files.
+     */
+    @Override
+    public boolean mirrorAllElements() {
+        File zipFile = fileProvider.get();
+        if (!zipFile.exists()) {
+            throw new InvalidUserDataException(format("Cannot expand %s as it does not exist.", getDisplayName()));
+        }
+        if (!zipFile.isFile()) {
+            throw new InvalidUserDataException(format("Cannot expand %s as it is not a file.", getDisplayName()));
+        }
+
+        File expandedDir = getExpandedDir();
+        File expandedMarker = new File(expandedDir.getParentFile(), expandedDir.getName() + ".expanded");
+        AtomicBoolean hasContent = new AtomicBoolean();
+        decompressionCoordinator.exclusiveAccessTo(expandedDir, () -> {
+            if (isExpanded(expandedDir, expandedMarker)) {
+                hasContent.set(true);
+                return;
+            }
+            AtomicBoolean stopFlag = new AtomicBoolean();
+            try (ZipFile zip = ZipFile.builder().setFile(zipFile).get()) {
+                List<DetailsImpl> files = new ArrayList<>();
+                Iterator<ZipArchiveEntry> sortedEntries = entriesSortedByName(zip);
+                while (sortedEntries.hasNext()) {
+                    ZipArchiveEntry entry = sortedEntries.next();
+                    DetailsImpl details = new DetailsImpl(zipFile, expandedDir, entry, zip, stopFlag, chmod);
+                    if (entry.isDirectory()) {
+                        // Directories are created first, in order, so their parents exist before their permissions are set
+                        details.getFile();
+                    } else {
+                        files.add(details);
+                    }
+                    hasContent.set(true);
+                }
+                inflate(files, stopFlag);
+                if (hasContent.get()) {
+                    // An empty zip does not need a marker, as it is cheap to open again
+                    Files.write(expandedMarker.toPath(), Integer.toString(files.size()).getBytes(StandardCharsets.UTF_8));
+                }
+            } catch (GradleException e) {
+                throw e; // Gradle exceptions are already meant to be human-readable, so just rethrow it
+            } catch (Exception e) {
+                throw new GradleException(format("Cannot expand %s.", getDisplayName()), e);
+            }
+        });
+        return hasContent.get();
+    }
+
+    /**
+     * Inflates the files on an executor with at most as many threads as the build has workers. Each entry is read through its own
+     * stream over the zip's file channel, so entries can be inflated concurrently.
+     */
+    private void inflate(List<DetailsImpl> files, AtomicBoolean stopFlag) throws InterruptedException {
+        ManagedExecutor executor = executorFactory.create("Expand " + getDisplayName(), maxInflateThreads);
+        try {
+            List<Future<?>> inflatedFiles = new ArrayList<>(files.size());
+            for (DetailsImpl file : files) {
+                inflatedFiles.add(executor.submit(() -> {
+                    if (!stopFlag.get()) {
+                        file.getFile();
+                    }
+                }));
+            }
+            for (Future<?> inflatedFile : inflatedFiles) {
+                inflatedFile.get();
+            }
+        } catch (ExecutionException e) {
+            // Skip the files that are not inflated yet
+            stopFlag.set(true);
+            throw UncheckedException.throwAsUncheckedException(e.getCause());
+        } finally {
+            executor.stop();
+        }
+    }
+
+    /**
+     * Whether all files of the zip were expanded before and the expanded directory still holds as many files as recorded in the marker.
+     * <p>
+     * This walks the expanded directory on every call. The walk reads the attributes of each expanded entry once and no file contents,
+     * so its cost grows with the number of entries but is small compared to opening the zip and inflating them again.
+     */
+    private static boolean isExpanded(File expandedDir, File expandedMarker) {
+        if (!expandedMarker.isFile() || !expandedDir.isDirectory()) {
+            return false;
+        }
+        try {
+            int expectedFiles = Integer.parseInt(new String(Files.readAllBytes(expandedMarker.toPath()), StandardCharsets.UTF_8).trim());
+            AtomicInteger expandedFiles = new AtomicInteger();
+            Files.walkFileTree(expandedDir.toPath(), new SimpleFileVisitor<Path>() {
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                    if (attrs.isRegularFile() && expandedFiles.incrementAndGet() > expectedFiles) {
+                        return FileVisitResult.TERMINATE;
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+            return expandedFiles.get() == expectedFiles;
+        } catch (IOException | NumberFormatException e) {
+            // Expand the zip again
+            return false;
+        }
+    }
+
     private Iterator<ZipArchiveEntry> entriesSortedByName(ZipFile zip) {
         Map<String, ZipArchiveEntry> entriesByName = new TreeMap<>();
         Enumeration<ZipArchiveEntry> entries = zip.getEntries();
@@ -94,6 +94,9 @@ class ProjectAccessorsClassPathGenerator @Inject internal constructor(
     private
     val classPathCache = ConcurrentHashMap<ClassLoaderScope, AccessorsClassPath>()
 
+    private
+    val emittedAccessors = EmittedAccessors()
+
     fun projectAccessorsClassPath(scriptTarget: ExtensionAware, classPath: ClassPath): AccessorsClassPath {
         val classLoaderScope = classLoaderScopeOf(scriptTarget)
         if (classLoaderScope == null) {
@@ -122,6 +125,7 @@ class ProjectAccessorsClassPathGenerator @Inject internal constructor(
                     workspaceProvider,
                     asyncIO,
                     isDclEnabledForScriptTarget(scriptTarget),
+                    emittedAccessors,
                 )
                 executionEngine.createRequest(work)
                     .execute()
@@ -159,7 +163,8 @@ class GenerateProjectAccessors(
     private val inputFingerprinter: InputFingerprinter,
     private val workspaceProvider: KotlinDslWorkspaceProvider,
     private val asyncIO: AsyncIOScopeFactory,
-    private val isDclEnabled: Boolean
+    private val isDclEnabled: Boolean,
+    private val emittedAccessors: EmittedAccessors
 ) : ImmutableUnitOfWork {
 
     companion object {
@@ -177,7 +182,10 @@ class GenerateProjectAccessors(
                 scriptTargetSchema,
                 classPath,
                 srcDir = getSourcesOutputDir(workspace),
-                binDir = getClassesOutputDir(workspace)
+                binDir = getClassesOutputDir(workspace),
+                packageName = KOTLIN_DSL_PACKAGE_NAME,
+                format = AccessorFormats.default,
+                emittedAccessors = emittedAccessors
             )
         }
         return object : WorkOutput {
@@ -257,6 +265,20 @@ fun IO.buildAccessorsFor(
     binDir: File?,
     packageName: String = KOTLIN_DSL_PACKAGE_NAME,
     format: AccessorFormat = AccessorFormats.default
+) {
+    buildAccessorsFor(projectSchema, classPath, srcDir, binDir, packageName, format, null)
+}
+
+
+internal
+fun IO.buildAccessorsFor(
+    projectSchema: TypedProjectSchema,
+    classPath: ClassPath,
+    srcDir: File,
+    binDir: File?,
+    packageName: String,
+    format: AccessorFormat,
+    emittedAccessors: EmittedAccessors?
 ) {
     val availableSchema = availableProjectSchemaFor(projectSchema, classPath)
     emitAccessorsFor(
@@ -264,7 +286,8 @@ fun IO.buildAccessorsFor(
         srcDir,
         binDir,
         OutputPackage(packageName),
-        format
+        format,
+        emittedAccessors
     )
 }
 
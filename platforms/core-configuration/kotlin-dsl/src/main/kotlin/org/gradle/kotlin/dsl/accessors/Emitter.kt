@@ -31,6 +31,7 @@ import org.gradle.kotlin.dsl.support.bytecode.endKotlinClass
 import org.gradle.kotlin.dsl.support.bytecode.moduleFileFor
 import org.gradle.kotlin.dsl.support.bytecode.moduleMetadataBytesFor
 import java.io.File
+import java.util.concurrent.ConcurrentHashMap
 
 
 internal
@@ -39,7 +40,8 @@ fun IO.emitAccessorsFor(
     srcDir: File,
     binDir: File?,
     outputPackage: OutputPackage,
-    format: AccessorFormat
+    format: AccessorFormat,
+    emittedAccessors: EmittedAccessors? = null
 ): List<InternalName> {
 
     makeAccessorOutputDirs(srcDir, binDir, outputPackage.path)
@@ -50,15 +52,15 @@ fun IO.emitAccessorsFor(
     val moduleName = binDir?.name ?: "kotlin-dsl-accessors"
     val emittedClassNames =
         accessorsFor(projectSchema).map { accessor ->
-            emitClassFor(
+            val key = EmittedAccessorKey(
                 accessor,
-                srcDir,
-                binDir,
                 outputPackage,
                 format,
-                moduleName,
+                moduleName.takeIf { binDir != null },
                 useLowPriorityOverloadResolution
             )
+            val emitted = emittedAccessors?.getOrEmit(key) ?: emitClassFor(key)
+            writeAccessorClass(emitted, srcDir, binDir)
         }.toList()
 
     if (binDir != null) {
@@ -72,6 +74,52 @@ fun IO.emitAccessorsFor(
 }
 
 
+/**
+ * The accessor classes emitted so far, shared by all accessor sets generated during a build.
+ *
+ * Projects with overlapping schemas share most of their accessors, so each distinct accessor
+ * only needs to be generated once. Its source and bytecode are then written as-is to the
+ * workspace of every other project.
+ */
+internal
+class EmittedAccessors {
+
+    private
+    val classes = ConcurrentHashMap<EmittedAccessorKey, EmittedAccessorClass>()
+
+    fun getOrEmit(key: EmittedAccessorKey): EmittedAccessorClass =
+        classes.computeIfAbsent(key, ::emitClassFor)
+
+    val size: Int
+        get() = classes.size
+}
+
+
+/**
+ * Everything the emitted source and bytecode of an [accessor] depend on.
+ *
+ * [moduleName] is `null` when no bytecode is emitted.
+ */
+internal
+data class EmittedAccessorKey(
+    val accessor: Accessor,
+    val outputPackage: OutputPackage,
+    val format: AccessorFormat,
+    val moduleName: String?,
+    val useLowPriorityOverloadResolution: Boolean
+)
+
+
+internal
+class EmittedAccessorClass(
+    val className: InternalName,
+    val packageName: String,
+    val sourceCode: List<String>,
+    val imports: List<String>,
+    val classBytes: ByteArray?
+)
+
+
 internal
 fun IO.makeAccessorOutputDirs(srcDir: File, binDir: File?, packagePath: String) = io {
     srcDir.resolve(packagePath).mkdirs()
@@ -92,15 +140,7 @@ data class OutputPackage(val name: String) {
 
 
 private
-fun IO.emitClassFor(
-    accessor: Accessor,
-    srcDir: File,
-    binDir: File?,
-    outputPackage: OutputPackage,
-    format: AccessorFormat,
-    moduleName: String,
-    useLowPriorityOverloadResolution: Boolean
-): InternalName {
+fun emitClassFor(key: EmittedAccessorKey): EmittedAccessorClass = key.run {
 
     val (simpleClassName, fragments) = fragmentsFor(accessor)
     val className = InternalName("${outputPackage.path}/$simpleClassName")
@@ -110,29 +150,40 @@ fun IO.emitClassFor(
         sourceCode.add(format(source))
     }
 
-    if (binDir != null) {
-        writeAccessorsBytecodeTo(
-            binDir,
+    val classBytes = moduleName?.let {
+        accessorsBytecodeFor(
             className,
             fragments,
             ::collectSourceFragment,
-            moduleName,
+            it,
             useLowPriorityOverloadResolution
         )
-    } else {
+    }
+    if (classBytes == null) {
         for ((source, _, _, _) in fragments) {
             collectSourceFragment(source)
         }
     }
 
+    EmittedAccessorClass(className, outputPackage.name, sourceCode, importsRequiredBy(accessor), classBytes)
+}
+
+
+private
+fun IO.writeAccessorClass(emitted: EmittedAccessorClass, srcDir: File, binDir: File?): InternalName = emitted.run {
+
+    if (binDir != null && classBytes != null) {
+        writeFile(binDir.resolve("$className.class"), classBytes)
+    }
+
     writeAccessorsTo(
         sourceFileFor(className, srcDir),
         sourceCode,
-        importsRequiredBy(accessor),
-        outputPackage.name
+        imports,
+        packageName
     )
 
-    return className
+    className
 }
 
 
@@ -142,14 +193,13 @@ fun sourceFileFor(className: InternalName, srcDir: File) =
 
 
 private
-fun IO.writeAccessorsBytecodeTo(
-    binDir: File,
+fun accessorsBytecodeFor(
     className: InternalName,
     fragments: Sequence<AccessorFragment>,
     collectSourceFragment: (String) -> Unit,
     moduleName: String,
     useLowPriorityOverloadResolution: Boolean
-) {
+): ByteArray {
 
     val metadataWriter = beginFileFacadeClassHeader()
     val classWriter = beginPublicClass(className)
@@ -161,9 +211,7 @@ fun IO.writeAccessorsBytecodeTo(
     }
 
     val metadata = metadataWriter.closeHeader(moduleName)
-    val classBytes = classWriter.endKotlinClass(metadata)
-    val classFile = binDir.resolve("$className.class")
-    writeFile(classFile, classBytes)
+    return classWriter.endKotlinClass(metadata)
 }
 
 
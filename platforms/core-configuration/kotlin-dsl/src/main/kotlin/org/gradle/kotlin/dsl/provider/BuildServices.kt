@@ -157,8 +157,12 @@ object BuildServices : ServiceRegistrationProvider {
         )
 
     @Provides
-    fun createKotlinCompilerContextDisposer(listenerManager: ListenerManager) =
-        KotlinCompilerContextDisposer(listenerManager)
+    fun createKotlinCompilerContextDisposer(
+        listenerManager: ListenerManager,
+        internalOptions: InternalOptions,
+        statistics: KotlinCompilerContextStatistics
+    ) =
+        KotlinCompilerContextDisposer(listenerManager, internalOptions, statistics)
 
     private
     val isKotlinScriptCompilationAvoidanceEnabled: Boolean
@@ -18,22 +18,47 @@ package org.gradle.kotlin.dsl.provider
 
 import org.gradle.api.invocation.Gradle
 import org.gradle.internal.InternalBuildAdapter
+import org.gradle.internal.buildoption.InternalFlag
+import org.gradle.internal.buildoption.InternalOptions
 import org.gradle.internal.concurrent.Stoppable
 import org.gradle.internal.event.ListenerManager
 import org.gradle.internal.service.scopes.Scope
 import org.gradle.internal.service.scopes.ServiceScope
 import org.gradle.kotlin.dsl.support.disposeKotlinCompilerContext
+import org.gradle.kotlin.dsl.support.loggerFor
 
 
 /**
  * Disposes Kotlin compiler environment once all scripts are compiled.
+ *
+ * When [RETAIN_CONTEXT_PROPERTY] is enabled, the environment is retained for the next build in the same daemon
+ * as long as the heap usage stays below [MAX_RETAINED_HEAP_USAGE].
+ *
+ * Retaining is disabled by default, so by default the environment is disposed after every build as before.
+ * The retained environment is the single process-wide Kotlin application environment; it is not a pool of
+ * compiler contexts keyed by script classpath, and it is only evicted as a whole, based on the heap usage of
+ * the daemon. Reuse is reported by [KotlinCompilerContextStatistics] at debug level only.
  */
 @ServiceScope(Scope.Build::class)
 internal
 class KotlinCompilerContextDisposer(
-    private val listenerManager: ListenerManager
+    private val listenerManager: ListenerManager,
+    internalOptions: InternalOptions,
+    private val statistics: KotlinCompilerContextStatistics
 ) : InternalBuildAdapter(), Stoppable {
 
+    companion object {
+        val RETAIN_CONTEXT_PROPERTY = InternalFlag("org.gradle.internal.kotlin-compiler-context-retained", false)
+
+        const val MAX_RETAINED_HEAP_USAGE = 0.7
+    }
+
+    private
+    val retainContext = internalOptions.getOption(RETAIN_CONTEXT_PROPERTY).get()
+
+    private
+    val logger = loggerFor<KotlinCompilerContextDisposer>()
+
     init {
         listenerManager.addListener(this)
     }
@@ -43,6 +68,22 @@ class KotlinCompilerContextDisposer(
     }
 
     override fun projectsEvaluated(gradle: Gradle) {
-        disposeKotlinCompilerContext()
+        if (!retainContext) {
+            statistics.beforeContextDisposed()
+            disposeKotlinCompilerContext()
+            return
+        }
+        val heapUsage = heapUsage()
+        if (heapUsage >= MAX_RETAINED_HEAP_USAGE) {
+            logger.debug("Disposing Kotlin compiler context, heap usage {}%.", (heapUsage * 100).toInt())
+            statistics.beforeContextDisposed()
+            disposeKotlinCompilerContext()
+        }
     }
+
+    private
+    fun heapUsage(): Double =
+        Runtime.getRuntime().run {
+            (totalMemory() - freeMemory()).toDouble() / maxMemory()
+        }
 }
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.kotlin.dsl.provider
+
+import org.gradle.internal.concurrent.Stoppable
+import org.gradle.internal.service.scopes.Scope
+import org.gradle.internal.service.scopes.ServiceScope
+import org.gradle.kotlin.dsl.support.isKotlinCompilerContextInitialized
+import org.gradle.kotlin.dsl.support.kotlinCompilerContextReuses
+import org.gradle.kotlin.dsl.support.loggerFor
+
+
+/**
+ * Counts the script compilations of a build tree that reused a Kotlin compiler context retained by a previous build.
+ *
+ * Compilations reusing a context created by the same build tree are not counted.
+ */
+@ServiceScope(Scope.BuildTree::class)
+internal
+class KotlinCompilerContextStatistics : Stoppable {
+
+    private
+    val logger = loggerFor<KotlinCompilerContextStatistics>()
+
+    private
+    val retainedByPreviousBuild = isKotlinCompilerContextInitialized()
+
+    /**
+     * The value of [kotlinCompilerContextReuses] when the build tree started, or null once the retained context was disposed.
+     */
+    private
+    var reusesAtStart: Int? = if (retainedByPreviousBuild) kotlinCompilerContextReuses.get() else null
+
+    private
+    var crossBuildReuses = 0
+
+    @Synchronized
+    fun beforeContextDisposed() {
+        val start = reusesAtStart ?: return
+        crossBuildReuses = kotlinCompilerContextReuses.get() - start
+        reusesAtStart = null
+    }
+
+    override fun stop() {
+        beforeContextDisposed()
+        if (retainedByPreviousBuild) {
+            logger.debug("Kotlin compiler context retained by a previous build was reused by {} script compilations.", crossBuildReuses)
+        }
+    }
+}
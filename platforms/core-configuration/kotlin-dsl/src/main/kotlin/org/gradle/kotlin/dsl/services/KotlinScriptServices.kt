@@ -23,6 +23,10 @@ import org.gradle.internal.service.scopes.AbstractGradleModuleServices
 internal
 class KotlinScriptServices : AbstractGradleModuleServices() {
 
+    override fun registerBuildTreeServices(registration: ServiceRegistration) {
+        registration.add(org.gradle.kotlin.dsl.provider.KotlinCompilerContextStatistics::class.java)
+    }
+
     override fun registerBuildServices(registration: ServiceRegistration) {
         registration.addProvider(org.gradle.kotlin.dsl.accessors.BuildScopeServices)
         registration.addProvider(org.gradle.kotlin.dsl.concurrent.BuildServices)
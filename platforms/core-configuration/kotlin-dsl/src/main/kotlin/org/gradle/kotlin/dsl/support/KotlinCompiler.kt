@@ -73,6 +73,7 @@ import java.io.ByteArrayOutputStream
 import java.io.File
 import java.io.OutputStream
 import java.io.PrintStream
+import java.util.concurrent.atomic.AtomicInteger
 import kotlin.reflect.KClass
 import kotlin.script.experimental.api.ResultWithDiagnostics
 import kotlin.script.experimental.api.ScriptCompilationConfiguration
@@ -260,26 +261,87 @@ inline fun <T> ignoringOutputOf(action: () -> T): T =
 
 
 private
-inline fun <T> redirectingOutputTo(noinline outputStream: () -> OutputStream, action: () -> T): T =
-    redirecting(System.err, System::setErr, outputStream()) {
-        redirecting(System.out, System::setOut, outputStream()) {
-            action()
+inline fun <T> redirectingOutputTo(noinline outputStream: () -> OutputStream, action: () -> T): T {
+    val to = outputStream()
+    val previous = StandardOutputRedirection.redirectCurrentThreadTo(to)
+    try {
+        return action()
+    } finally {
+        StandardOutputRedirection.restoreCurrentThread(previous)
+        to.flush()
+    }
+}
+
+
+/**
+ * Redirects [System.out] and [System.err] on behalf of the compiling threads only.
+ *
+ * With isolated projects, scripts of different projects can be compiled concurrently and swapping the global streams
+ * per compilation would let one compilation restore the streams installed by another one.
+ * Instead, the streams are swapped once while at least one compilation is in flight and
+ * writes are dispatched to the target of the writing thread, falling back to the original streams.
+ *
+ * Scripts are still compiled on the thread configuring their project, so outside of isolated projects they
+ * compile one at a time. There is no separate pool of compilations.
+ */
+@VisibleForTesting
+internal
+object StandardOutputRedirection {
+
+    private
+    val currentTarget = ThreadLocal<PrintStream>()
+
+    private
+    var redirectedThreads = 0
+
+    private
+    var originalOut: PrintStream? = null
+
+    private
+    var originalErr: PrintStream? = null
+
+    fun redirectCurrentThreadTo(to: OutputStream): PrintStream? {
+        val previous = currentTarget.get()
+        currentTarget.set(PrintStream(to, true))
+        synchronized(this) {
+            if (redirectedThreads++ == 0) {
+                val out = System.out
+                val err = System.err
+                originalOut = out
+                originalErr = err
+                System.setOut(PrintStream(CurrentThreadTargetOutputStream(out), true))
+                System.setErr(PrintStream(CurrentThreadTargetOutputStream(err), true))
+            }
         }
+        return previous
     }
 
+    fun restoreCurrentThread(previous: PrintStream?) {
+        synchronized(this) {
+            if (--redirectedThreads == 0) {
+                System.setOut(originalOut)
+                System.setErr(originalErr)
+                originalOut = null
+                originalErr = null
+            }
+        }
+        if (previous == null) currentTarget.remove()
+        else currentTarget.set(previous)
+    }
 
-private
-inline fun <T> redirecting(
-    stream: PrintStream,
-    set: (PrintStream) -> Unit,
-    to: OutputStream,
-    action: () -> T
-): T = try {
-    set(PrintStream(to, true))
-    action()
-} finally {
-    set(stream)
-    to.flush()
+    private
+    class CurrentThreadTargetOutputStream(private val fallback: OutputStream) : OutputStream() {
+
+        private
+        val target: OutputStream
+            get() = currentTarget.get() ?: fallback
+
+        override fun write(b: Int) = target.write(b)
+
+        override fun write(b: ByteArray, off: Int, len: Int) = target.write(b, off, len)
+
+        override fun flush() = target.flush()
+    }
 }
 
 
@@ -386,6 +448,9 @@ fun Disposable.kotlinCoreEnvironmentFor(configuration: CompilerConfiguration): K
         KOTLIN_COMPILER_ENVIRONMENT_KEEPALIVE_PROPERTY.property,
         "true"
     ) {
+        if (KotlinCoreEnvironment.applicationEnvironment != null) {
+            kotlinCompilerContextReuses.incrementAndGet()
+        }
         KotlinCoreEnvironment.createForProduction(
             this,
             configuration,
@@ -401,6 +466,19 @@ fun disposeKotlinCompilerContext() =
     KotlinCoreEnvironment.disposeApplicationEnvironment()
 
 
+@OptIn(K1Deprecation::class)
+internal
+fun isKotlinCompilerContextInitialized() =
+    KotlinCoreEnvironment.applicationEnvironment != null
+
+
+/**
+ * The number of script compilations in this process that found the Kotlin compiler context already initialized.
+ */
+internal
+val kotlinCompilerContextReuses = AtomicInteger()
+
+
 private
 fun messageCollectorFor(
     log: Logger,
@@ -46,8 +46,10 @@ import org.gradle.kotlin.dsl.fixtures.compileToDirectory
 import org.gradle.kotlin.dsl.fixtures.eval
 import org.gradle.kotlin.dsl.fixtures.testRuntimeClassPath
 import org.gradle.kotlin.dsl.fixtures.withClassLoaderFor
+import org.gradle.kotlin.dsl.internal.sharedruntime.codegen.KOTLIN_DSL_PACKAGE_NAME
 import org.gradle.kotlin.dsl.support.uppercaseFirstChar
 import org.gradle.nativeplatform.BuildType
+import org.junit.Assert.assertArrayEquals
 import org.junit.Assert.assertEquals
 import org.junit.Test
 import org.mockito.ArgumentMatchers.anyMap
@@ -127,6 +129,48 @@ class ProjectAccessorsClassPathTest : AbstractDslTest() {
         testAccessorsBuiltBy(::buildAccessorsFromSourceFor)
     }
 
+    @Test
+    fun `#buildAccessorsFor (shared emitted accessors)`() {
+
+        // given:
+        fun schemaWith(vararg tasks: ProjectSchemaEntry<SchemaType>) =
+            TypedProjectSchema(
+                extensions = listOf(entry<Project, SourceSetContainer>("sourceSets")),
+                containerElements = listOf(),
+                tasks = tasks.asList(),
+                configurations = listOf(ConfigurationEntry("api")),
+                modelDefaults = listOf(),
+                projectFeatureEntries = emptyList(),
+                containerElementFactories = listOf()
+            )
+
+        val emittedAccessors = EmittedAccessors()
+        val firstSrcDir = newFolder("first-src")
+        val firstBinDir = newFolder("first-bin", "classes")
+        val secondSrcDir = newFolder("second-src")
+        val secondBinDir = newFolder("second-bin", "classes")
+
+        // when:
+        withSynchronousIO {
+            buildAccessorsFor(schemaWith(), testRuntimeClassPath, firstSrcDir, firstBinDir, KOTLIN_DSL_PACKAGE_NAME, AccessorFormats.default, emittedAccessors)
+        }
+        val emittedForFirst = emittedAccessors.size
+        withSynchronousIO {
+            buildAccessorsFor(schemaWith(entry<TaskContainer, Delete>("clean")), testRuntimeClassPath, secondSrcDir, secondBinDir, KOTLIN_DSL_PACKAGE_NAME, AccessorFormats.default, emittedAccessors)
+        }
+
+        // then: only the accessor for the new task is emitted again
+        assertEquals(emittedForFirst + 1, emittedAccessors.size)
+
+        // and: shared accessors are written identically to both outputs
+        firstSrcDir.walkTopDown().filter { it.isFile }.forEach { file ->
+            assertEquals(file.readText(), secondSrcDir.resolve(file.relativeTo(firstSrcDir)).readText())
+        }
+        firstBinDir.walkTopDown().filter { it.isFile && it.extension == "class" }.forEach { file ->
+            assertArrayEquals(file.readBytes(), secondBinDir.resolve(file.relativeTo(firstBinDir)).readBytes())
+        }
+    }
+
     @Test
     fun `#buildAccessorsFor (deprecated configurations)`() {
         val schema =
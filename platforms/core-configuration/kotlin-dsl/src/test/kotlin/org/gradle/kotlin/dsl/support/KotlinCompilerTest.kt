@@ -21,6 +21,11 @@ import org.hamcrest.MatcherAssert.assertThat
 import org.hamcrest.core.IsEqual.equalTo
 import org.jetbrains.kotlin.config.JvmTarget
 import org.junit.Test
+import java.io.ByteArrayOutputStream
+import java.util.concurrent.ConcurrentLinkedQueue
+import java.util.concurrent.CyclicBarrier
+import java.util.concurrent.TimeUnit
+import kotlin.concurrent.thread
 
 
 class KotlinCompilerTest {
@@ -60,4 +65,43 @@ class KotlinCompilerTest {
             assertThat(javaVersion.toKotlinJvmTarget(), equalTo(JvmTarget.JVM_25))
         }
     }
+
+    @Test
+    fun `concurrent compilations capture the output of their own thread and restore the standard streams`() {
+        val originalOut = System.out
+        val originalErr = System.err
+        val barrier = CyclicBarrier(2)
+        val outputs = List(2) { ByteArrayOutputStream() }
+        val failures = ConcurrentLinkedQueue<Throwable>()
+
+        outputs.mapIndexed { index, output ->
+            thread {
+                runCatching {
+                    val previous = StandardOutputRedirection.redirectCurrentThreadTo(output)
+                    try {
+                        barrier.await(10, TimeUnit.SECONDS)
+                        System.out.print("out $index;")
+                        System.err.print("err $index;")
+                        barrier.await(10, TimeUnit.SECONDS)
+                        if (index == 1) {
+                            // the other compilation has finished by now
+                            barrier.await(10, TimeUnit.SECONDS)
+                            System.out.print("late $index;")
+                        }
+                    } finally {
+                        StandardOutputRedirection.restoreCurrentThread(previous)
+                        if (index == 0) {
+                            barrier.await(10, TimeUnit.SECONDS)
+                        }
+                    }
+                }.onFailure(failures::add)
+            }
+        }.forEach { it.join() }
+
+        assertThat(failures.toList(), equalTo(emptyList()))
+        assertThat(outputs[0].toString(), equalTo("out 0;err 0;"))
+        assertThat(outputs[1].toString(), equalTo("out 1;err 1;late 1;"))
+        assertThat(System.out === originalOut, equalTo(true))
+        assertThat(System.err === originalErr, equalTo(true))
+    }
 }
@@ -63,6 +63,8 @@
 import org.gradle.internal.service.scopes.WorkerSharedUserHomeScopeServices;
 import org.gradle.internal.snapshot.impl.IsolatableSerializerRegistry;
 import org.gradle.internal.state.ManagedFactoryRegistry;
+import org.gradle.internal.work.DefaultWorkerLimits;
+import org.gradle.internal.work.WorkerLimits;
 import org.gradle.process.internal.DefaultExecActionFactory;
 import org.gradle.process.internal.ExecFactory;
 import org.gradle.process.internal.worker.RequestHandler;
@@ -203,6 +205,12 @@ protected BuildTreeScopedCacheBuilderFactory createBuildTreeScopedCache(Unscoped
         protected DecompressionCoordinator createDecompressionCoordinator(BuildTreeScopedCacheBuilderFactory cacheBuilderFactory) {
             return new DefaultDecompressionCoordinator(cacheBuilderFactory);
         }
+
+        @Provides
+        protected WorkerLimits createWorkerLimits() {
+            // The max worker count of the build is not sent to worker daemons, so use its default
+            return new DefaultWorkerLimits(Runtime.getRuntime().availableProcessors());
+        }
     }
 
     static class WorkerProjectServices implements ServiceRegistrationProvider {
@@ -24,6 +24,7 @@
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.parsers.SAXParserFactory;
+import javax.xml.stream.XMLInputFactory;
 import javax.xml.transform.TransformerConfigurationException;
 import javax.xml.transform.TransformerFactory;
 import javax.xml.xpath.XPathFactory;
@@ -59,6 +60,22 @@ public static SAXParserFactory newSAXParserFactory() {
         }
     }
 
+    /**
+     * Creates a new {@link XMLInputFactory} that does not support DTDs or external entities.
+     * <p>
+     * Callers that need to process a DTD must opt in explicitly and should provide an {@link javax.xml.stream.XMLResolver}.
+     */
+    public static XMLInputFactory newXMLInputFactory() {
+        try {
+            XMLInputFactory xif = XMLInputFactory.newInstance();
+            xif.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+            xif.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+            return xif;
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException(errorMessageFor("XMLInputFactory"), e);
+        }
+    }
+
     public static XPathFactory newXPathFactory() {
         try {
             XPathFactory xpf = XPathFactory.newInstance();
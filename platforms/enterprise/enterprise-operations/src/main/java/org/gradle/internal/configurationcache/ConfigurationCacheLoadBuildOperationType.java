@@ -37,6 +37,13 @@ public interface Result {
          */
         long getCacheEntrySize();
 
+        /**
+         * The number of bytes of the loaded configuration cache entry after it was decompressed.
+         *
+         * Same as {@link #getCacheEntrySize()} when the entry is not compressed.
+         */
+        long getUncompressedCacheEntrySize();
+
         /**
          * The ID of the build that store the configuration cache entry.
          *
@@ -35,6 +35,13 @@ public interface Result {
          * @since 8.6
          */
         long getCacheEntrySize();
+
+        /**
+         * The number of bytes of the stored configuration cache entry before it was compressed.
+         *
+         * Same as {@link #getCacheEntrySize()} when the entry is not compressed.
+         */
+        long getUncompressedCacheEntrySize();
     }
 
 }
@@ -35,6 +35,7 @@ dependencies {
     api(libs.jspecify)
 
     implementation(projects.logging)
+    implementation(projects.buildOption)
     implementation(projects.classloaders)
     implementation(projects.concurrent)
     implementation(projects.fileCollections)
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.testing
+
+import org.gradle.api.JavaVersion
+import org.gradle.integtests.fixtures.AbstractIntegrationSpec
+import org.gradle.integtests.fixtures.AvailableJavaHomes
+import org.gradle.integtests.fixtures.jvm.JavaToolchainFixture
+import org.gradle.test.precondition.Requires
+import org.gradle.test.preconditions.IntegTestPreconditions
+
+@Requires(IntegTestPreconditions.Java21HomeAvailable)
+class TestWorkerClassDataSharingIntegrationTest extends AbstractIntegrationSpec implements JavaToolchainFixture {
+
+    def jdk21 = AvailableJavaHomes.getJdk(JavaVersion.VERSION_21)
+
+    def setup() {
+        executer.beforeExecute {
+            withInstallations(jdk21)
+            withArgument("-Dorg.gradle.internal.testing.worker-class-data-sharing=true")
+        }
+        file("src/main/java/Foo.java") << "public class Foo {}"
+        file("src/test/java/FooTest.java") << """
+            import org.junit.*;
+
+            public class FooTest {
+                @Test
+                public void test() {
+                    new Foo();
+                }
+            }
+        """
+        buildFile << """
+            plugins {
+                id("java")
+            }
+
+            ${mavenCentralRepository()}
+
+            dependencies {
+                testImplementation "junit:junit:4.13"
+            }
+
+            ${javaPluginToolchainVersion(jdk21)}
+
+            test {
+                jvmArgs "-Xlog:class+load=info:file=class-load.log"
+            }
+        """
+    }
+
+    def "test workers create their archive and map it on the next execution when only jars are on the classpath"() {
+        buildFile << """
+            def testJar = tasks.register("testJar", Jar) {
+                from(sourceSets.test.output)
+                archiveClassifier = "tests"
+            }
+
+            test {
+                classpath = files(tasks.jar, testJar) + configurations.testRuntimeClasspath
+            }
+        """
+
+        when:
+        succeeds("test")
+
+        then:
+        file("build/tmp/test/class-data-sharing/worker-0.jsa").isFile()
+        file("class-load.log").text.contains("FooTest source: file:")
+
+        when:
+        succeeds("test", "--rerun")
+
+        then:
+        file("class-load.log").text.contains("FooTest source: shared objects file (top)")
+        file("class-load.log").text.contains("org.junit.runner.Description source: shared objects file (top)")
+    }
+
+    def "test workers do not use an archive when test classes are loaded from directories"() {
+        when:
+        succeeds("test")
+        succeeds("test", "--rerun")
+
+        then:
+        !file("build/tmp/test/class-data-sharing/worker-0.jsa").exists()
+        !file("class-load.log").text.contains("shared objects file (top)")
+    }
+}
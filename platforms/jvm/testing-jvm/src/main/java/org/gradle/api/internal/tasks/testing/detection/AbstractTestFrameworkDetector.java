@@ -16,6 +16,7 @@
 
 package org.gradle.api.internal.tasks.testing.detection;
 
+import com.google.common.collect.Lists;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.gradle.api.internal.file.RelativeFile;
@@ -33,16 +34,23 @@
 import java.io.File;
 import java.io.InputStream;
 import java.nio.file.Files;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 import static org.gradle.internal.FileUtils.hasExtension;
 
 public abstract class AbstractTestFrameworkDetector<T extends TestClassVisitor> implements TestFrameworkDetector {
     private static final Logger LOGGER = LoggerFactory.getLogger(AbstractTestFrameworkDetector.class);
     private static final String JAVA_LANG_OBJECT = "java/lang/Object";
+    private static final int CLASS_FILES_PER_CHUNK = 64;
+    private static final int MAX_PENDING_CHUNKS = 16;
 
     private List<File> testClassDirectories;
     private final ClassFileExtractionManager classFileExtractionManager;
@@ -135,20 +143,50 @@ private TestClass readClassFile(File testClassFile, Factory<String> fallbackClas
 
     @Override
     public boolean processTestClass(final RelativeFile testClassFile) {
-        return processTestClass(testClassFile.getFile(), false, () -> testClassFile.getRelativePath().getPathString().replace(".class", ""));
+        return processTestClass(readClassFile(testClassFile), false);
     }
 
     /**
-     * Uses a TestClassVisitor to detect whether the class in the testClassFile is a test class.
+     * Reads and parses the class files in chunks on the given executor, as that is independent for each class file.
+     * Only a bounded number of chunks is read ahead. Super classes are then resolved and test classes published sequentially,
+     * in the order of the given files.
+     */
+    @Override
+    public void processTestClasses(List<RelativeFile> testClassFiles, Executor executor) {
+        Iterator<List<RelativeFile>> chunks = Lists.partition(testClassFiles, CLASS_FILES_PER_CHUNK).iterator();
+        Deque<CompletableFuture<List<TestClass>>> pendingChunks = new ArrayDeque<>();
+        while (chunks.hasNext() || !pendingChunks.isEmpty()) {
+            while (chunks.hasNext() && pendingChunks.size() < MAX_PENDING_CHUNKS) {
+                List<RelativeFile> chunk = chunks.next();
+                pendingChunks.add(CompletableFuture.supplyAsync(() -> readClassFiles(chunk), executor));
+            }
+            for (TestClass testClass : pendingChunks.remove().join()) {
+                processTestClass(testClass, false);
+            }
+        }
+    }
+
+    private List<TestClass> readClassFiles(List<RelativeFile> testClassFiles) {
+        List<TestClass> testClasses = new ArrayList<>(testClassFiles.size());
+        for (RelativeFile testClassFile : testClassFiles) {
+            testClasses.add(readClassFile(testClassFile));
+        }
+        return testClasses;
+    }
+
+    private TestClass readClassFile(RelativeFile testClassFile) {
+        return readClassFile(testClassFile.getFile(), () -> testClassFile.getRelativePath().getPathString().replace(".class", ""));
+    }
+
+    /**
+     * Detects whether the class, as read by a TestClassVisitor, is a test class.
      * <p>
      * If the class is not a test, this function will go up the inheritance tree to check if a parent
      * class is a test class. First the package of the parent class is checked, if it is a java.lang or groovy.lang the class can't be a test class, otherwise the parent class is scanned.
      * <p>
      * When a parent class is a test class all the extending classes are marked as test classes.
      */
-    private boolean processTestClass(File testClassFile, boolean superClass, Factory<String> fallbackClassNameProvider) {
-        TestClass testClass = readClassFile(testClassFile, fallbackClassNameProvider);
-
+    private boolean processTestClass(TestClass testClass, boolean superClass) {
         boolean isTest = testClass.isTest();
 
         if (!isTest) { // scan parent class
@@ -181,7 +219,7 @@ private boolean processSuperClass(File testClassFile, String superClassName) {
         Boolean isSuperTest = superClasses.get(testClassFile);
 
         if (isSuperTest == null) {
-            isTest = processTestClass(testClassFile, true, Factories.constant(superClassName));
+            isTest = processTestClass(readClassFile(testClassFile, Factories.constant(superClassName)), true);
 
             superClasses.put(testClassFile, isTest);
         } else {
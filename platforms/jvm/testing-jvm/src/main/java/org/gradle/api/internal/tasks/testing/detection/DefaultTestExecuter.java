@@ -16,6 +16,9 @@
 
 package org.gradle.api.internal.tasks.testing.detection;
 
+import com.google.common.collect.Iterables;
+import com.google.common.util.concurrent.MoreExecutors;
+import org.gradle.api.Action;
 import org.gradle.api.file.FileTree;
 import org.gradle.api.internal.classpath.ModuleRegistry;
 import org.gradle.api.internal.file.FileCollectionFactory;
@@ -27,6 +30,7 @@
 import org.gradle.api.internal.tasks.testing.TestResultProcessor;
 import org.gradle.api.internal.tasks.testing.WorkerTestDefinitionProcessorFactory;
 import org.gradle.api.internal.tasks.testing.filter.DefaultTestFilter;
+import org.gradle.api.internal.tasks.testing.processors.LongestFirstTestDefinitionProcessor;
 import org.gradle.api.internal.tasks.testing.processors.MaxNParallelTestDefinitionProcessor;
 import org.gradle.api.internal.tasks.testing.processors.PatternMatchTestDefinitionProcessor;
 import org.gradle.api.internal.tasks.testing.processors.RestartEveryNTestDefinitionProcessor;
@@ -40,14 +44,20 @@
 import org.gradle.internal.Cast;
 import org.gradle.internal.Factory;
 import org.gradle.internal.actor.ActorFactory;
+import org.gradle.internal.concurrent.ExecutorFactory;
+import org.gradle.internal.concurrent.ManagedExecutor;
 import org.gradle.internal.time.Clock;
 import org.gradle.internal.work.WorkerLeaseService;
+import org.gradle.process.internal.worker.WorkerProcessBuilder;
 import org.gradle.process.internal.worker.WorkerProcessFactory;
+import org.jspecify.annotations.Nullable;
 
 import java.io.File;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * The default test class scanner factory.
@@ -63,12 +73,31 @@ public class DefaultTestExecuter implements TestExecuter<JvmTestExecutionSpec> {
     private final int maxWorkerCount;
     private final Clock clock;
     private final DefaultTestFilter testFilter;
+    @Nullable
+    private final TestWorkerClassDataSharing classDataSharing;
+    private final boolean batchOutputEvents;
+    @Nullable
+    private final ExecutorFactory executorFactory;
     private TestDefinitionProcessor<TestDefinition> processor;
 
     public DefaultTestExecuter(
         WorkerProcessFactory workerFactory, ActorFactory actorFactory, ModuleRegistry moduleRegistry,
         WorkerLeaseService workerLeaseService, int maxWorkerCount,
         Clock clock, DefaultTestFilter testFilter
+    ) {
+        this(workerFactory, actorFactory, moduleRegistry, workerLeaseService, maxWorkerCount, clock, testFilter, null, false, null);
+    }
+
+    /**
+     * @param classDataSharing the class data sharing archives of the test workers, or {@code null} to not use class data sharing.
+     * @param batchOutputEvents whether test workers should merge consecutive output events of a test before sending them.
+     * @param executorFactory the factory of the executor that reads candidate test class files, or {@code null} to read them on the calling thread.
+     */
+    public DefaultTestExecuter(
+        WorkerProcessFactory workerFactory, ActorFactory actorFactory, ModuleRegistry moduleRegistry,
+        WorkerLeaseService workerLeaseService, int maxWorkerCount,
+        Clock clock, DefaultTestFilter testFilter, @Nullable TestWorkerClassDataSharing classDataSharing, boolean batchOutputEvents,
+        @Nullable ExecutorFactory executorFactory
     ) {
         this.workerFactory = workerFactory;
         this.actorFactory = actorFactory;
@@ -77,6 +106,9 @@ public DefaultTestExecuter(
         this.maxWorkerCount = maxWorkerCount;
         this.clock = clock;
         this.testFilter = testFilter;
+        this.classDataSharing = classDataSharing;
+        this.batchOutputEvents = batchOutputEvents;
+        this.executorFactory = executorFactory;
     }
 
     @Override
@@ -94,12 +126,18 @@ public void execute(final JvmTestExecutionSpec testExecutionSpec, TestResultProc
             testExecutionSpec.getModulePath()
         );
 
-        final Factory<TestDefinitionProcessor<TestDefinition>> forkingProcessorFactory = () -> new ForkingTestDefinitionProcessor<>(workerLeaseService, workerFactory, testInstanceFactory, testExecutionSpec.getJavaForkOptions(), classpath, testFramework.getWorkerConfigurationAction());
-        final Factory<TestDefinitionProcessor<TestDefinition>> reforkingProcessorFactory = () -> new RestartEveryNTestDefinitionProcessor<>(forkingProcessorFactory, testExecutionSpec.getForkEvery());
+        // Workers created for the same slot run one after the other, so they can share a class data sharing archive
+        final AtomicInteger workerSlots = new AtomicInteger();
+        final Factory<TestDefinitionProcessor<TestDefinition>> reforkingProcessorFactory = () -> {
+            Action<WorkerProcessBuilder> workerConfigurationAction = withClassDataSharing(testFramework.getWorkerConfigurationAction(), testExecutionSpec, classpath, workerSlots.getAndIncrement());
+            Factory<TestDefinitionProcessor<TestDefinition>> forkingProcessorFactory = () -> new ForkingTestDefinitionProcessor<>(workerLeaseService, workerFactory, testInstanceFactory, testExecutionSpec.getJavaForkOptions(), classpath, workerConfigurationAction, batchOutputEvents);
+            return new RestartEveryNTestDefinitionProcessor<>(forkingProcessorFactory, testExecutionSpec.getForkEvery());
+        };
         processor =
             new PatternMatchTestDefinitionProcessor<>(testFilter,
-                new RunPreviousFailedFirstTestDefinitionProcessor<>(testExecutionSpec.getPreviousFailedTestClasses(), Collections.emptySet(),
-                    new MaxNParallelTestDefinitionProcessor<>(getMaxParallelForks(testExecutionSpec), reforkingProcessorFactory, actorFactory)));
+                new LongestFirstTestDefinitionProcessor<>(testExecutionSpec.getPreviousTestClassDurations(),
+                    new RunPreviousFailedFirstTestDefinitionProcessor<>(testExecutionSpec.getPreviousFailedTestClasses(), Collections.emptySet(),
+                        new MaxNParallelTestDefinitionProcessor<>(getMaxParallelForks(testExecutionSpec), testExecutionSpec.getPreviousTestClassDurations(), reforkingProcessorFactory, actorFactory))));
 
         final FileTree testClassFiles = testExecutionSpec.isScanForTestClasses() ? testExecutionSpec.getCandidateClassFiles() : FileCollectionFactory.emptyTree();
         final Set<File> testDefinitionDirs = testExecutionSpec.getCandidateTestDefinitionDirs();
@@ -110,7 +148,12 @@ public void execute(final JvmTestExecutionSpec testExecutionSpec, TestResultProc
             testFrameworkDetector.setTestClasspath(classpath.getApplicationClasspath());
         }
 
-        TestDetector detector = new DefaultTestScanner(testClassFiles, testDefinitionDirs, testFramework.getDetector(), processor);
+        // Reading the candidate class files is bounded by the number of workers, like the test workers themselves
+        ManagedExecutor classFileReadExecutor = executorFactory != null && testFramework.getDetector() != null
+            ? executorFactory.create("Read test class files of " + testExecutionSpec.getPath(), maxWorkerCount)
+            : null;
+        TestDetector detector = new DefaultTestScanner(testClassFiles, testDefinitionDirs, testFramework.getDetector(), processor,
+            classFileReadExecutor != null ? classFileReadExecutor : MoreExecutors.directExecutor());
 
         // What is this?
         // In some versions of the Gradle retry plugin, it would retry any test that had any kind of failure associated with it.
@@ -125,7 +168,13 @@ public void execute(final JvmTestExecutionSpec testExecutionSpec, TestResultProc
                 testResultProcessor = new TestRetryShieldingTestResultProcessor(testResultProcessor);
             }
         }
-        new TestMainAction(detector, processor, testResultProcessor, workerLeaseService, clock, testExecutionSpec.getPath(), "Gradle Test Run " + testExecutionSpec.getIdentityPath()).run();
+        try {
+            new TestMainAction(detector, processor, testResultProcessor, workerLeaseService, clock, testExecutionSpec.getPath(), "Gradle Test Run " + testExecutionSpec.getIdentityPath()).run();
+        } finally {
+            if (classFileReadExecutor != null) {
+                classFileReadExecutor.stop();
+            }
+        }
     }
 
     @Override
@@ -135,6 +184,24 @@ public void stopNow() {
         }
     }
 
+    private Action<WorkerProcessBuilder> withClassDataSharing(Action<WorkerProcessBuilder> workerConfigurationAction, JvmTestExecutionSpec testExecutionSpec, ForkedTestClasspath classpath, int workerSlot) {
+        if (classDataSharing == null) {
+            return workerConfigurationAction;
+        }
+        List<String> jvmArgs = classDataSharing.jvmArgsFor(
+            workerSlot,
+            testExecutionSpec.getJavaForkOptions().getAllJvmArgs(),
+            Iterables.concat(classpath.getApplicationClasspath(), classpath.getApplicationModulepath())
+        );
+        if (jvmArgs.isEmpty()) {
+            return workerConfigurationAction;
+        }
+        return builder -> {
+            workerConfigurationAction.execute(builder);
+            builder.getJavaCommand().jvmArgs(jvmArgs);
+        };
+    }
+
     private int getMaxParallelForks(JvmTestExecutionSpec testExecutionSpec) {
         int maxParallelForks = testExecutionSpec.getMaxParallelForks();
         if (maxParallelForks > maxWorkerCount) {
@@ -16,6 +16,7 @@
 
 package org.gradle.api.internal.tasks.testing.detection;
 
+import com.google.common.util.concurrent.MoreExecutors;
 import org.gradle.api.file.EmptyFileVisitor;
 import org.gradle.api.file.FileTree;
 import org.gradle.api.file.FileVisitDetails;
@@ -27,7 +28,10 @@
 import org.gradle.api.internal.tasks.testing.TestDefinition;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Executor;
 import java.util.regex.Pattern;
 
 /**
@@ -44,16 +48,30 @@ public class DefaultTestScanner implements TestDetector {
     private final Set<File> candidateDefinitionDirs;
     private final TestFrameworkDetector testFrameworkDetector;
     private final TestDefinitionProcessor<TestDefinition> testDefinitionProcessor;
+    private final Executor classFileReadExecutor;
 
     public DefaultTestScanner(FileTree candidateClassFiles,
                               Set<File> candidateDefinitionDirs,
                               TestFrameworkDetector testFrameworkDetector,
                               TestDefinitionProcessor<TestDefinition> testDefinitionProcessor
+    ) {
+        this(candidateClassFiles, candidateDefinitionDirs, testFrameworkDetector, testDefinitionProcessor, MoreExecutors.directExecutor());
+    }
+
+    /**
+     * @param classFileReadExecutor the executor used by the test framework detector to read candidate class files.
+     */
+    public DefaultTestScanner(FileTree candidateClassFiles,
+                              Set<File> candidateDefinitionDirs,
+                              TestFrameworkDetector testFrameworkDetector,
+                              TestDefinitionProcessor<TestDefinition> testDefinitionProcessor,
+                              Executor classFileReadExecutor
     ) {
         this.candidateClassFiles = candidateClassFiles;
         this.candidateDefinitionDirs = candidateDefinitionDirs;
         this.testFrameworkDetector = testFrameworkDetector;
         this.testDefinitionProcessor = testDefinitionProcessor;
+        this.classFileReadExecutor = classFileReadExecutor;
     }
 
     @Override
@@ -67,12 +85,16 @@ public void detect() {
 
     private void detectionScan() {
         testFrameworkDetector.startDetection(testDefinitionProcessor);
+        List<RelativeFile> testClassFiles = new ArrayList<>();
         candidateClassFiles.visit(new ClassFileVisitor() {
             @Override
             public void visitClassFile(FileVisitDetails fileDetails) {
-                testFrameworkDetector.processTestClass(new RelativeFile(fileDetails.getFile(), fileDetails.getRelativePath()));
+                testClassFiles.add(new RelativeFile(fileDetails.getFile(), fileDetails.getRelativePath()));
             }
         });
+        if (!testClassFiles.isEmpty()) {
+            testFrameworkDetector.processTestClasses(testClassFiles, classFileReadExecutor);
+        }
     }
 
     private void filenameScan() {
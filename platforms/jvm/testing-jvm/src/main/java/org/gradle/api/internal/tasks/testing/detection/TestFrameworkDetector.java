@@ -21,6 +21,7 @@
 
 import java.io.File;
 import java.util.List;
+import java.util.concurrent.Executor;
 
 /**
  * Detects what classes are test classes for the test framework.
@@ -30,6 +31,16 @@ public interface TestFrameworkDetector {
 
     boolean processTestClass(RelativeFile testClassFile);
 
+    /**
+     * Processes the given class files, publishing the test classes in the order of the given files.
+     * Implementations may read the class files concurrently using the given executor.
+     */
+    default void processTestClasses(List<RelativeFile> testClassFiles, Executor executor) {
+        for (RelativeFile testClassFile : testClassFiles) {
+            processTestClass(testClassFile);
+        }
+    }
+
     void setTestClasses(List<File> testClasses);
 
     void setTestClasspath(List<File> classpath);
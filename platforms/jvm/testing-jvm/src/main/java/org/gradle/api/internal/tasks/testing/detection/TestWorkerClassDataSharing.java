@@ -0,0 +1,80 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.tasks.testing.detection;
+
+import com.google.common.collect.ImmutableList;
+import org.gradle.api.JavaVersion;
+
+import java.io.File;
+import java.util.List;
+
+/**
+ * Lets test workers start from a class data sharing archive created by the test worker of the same slot in a previous execution.
+ * <p>
+ * Test workers of the same slot run one after the other, so they never write the same archive concurrently.
+ */
+public class TestWorkerClassDataSharing {
+
+    private final File archiveDir;
+
+    public TestWorkerClassDataSharing(File archiveDir) {
+        this.archiveDir = archiveDir;
+    }
+
+    /**
+     * Whether test workers running on the given Java version can create their archive on exit.
+     */
+    public static boolean isSupportedBy(JavaVersion javaVersion) {
+        // -XX:+AutoCreateSharedArchive is available from Java 19
+        return javaVersion.isCompatibleWith(JavaVersion.VERSION_19);
+    }
+
+    public File archiveFor(int workerSlot) {
+        return new File(archiveDir, "worker-" + workerSlot + ".jsa");
+    }
+
+    /**
+     * Returns the arguments for the test worker of the given slot, or no arguments when the user already configured class data sharing
+     * or when the worker could not create its archive from the given class and module path.
+     */
+    public List<String> jvmArgsFor(int workerSlot, List<String> userJvmArgs, Iterable<File> classpath) {
+        for (String arg : userJvmArgs) {
+            if (arg.startsWith("-XX:SharedArchiveFile") || arg.startsWith("-Xshare")) {
+                return ImmutableList.of();
+            }
+        }
+        if (containsNonEmptyDirectory(classpath)) {
+            return ImmutableList.of();
+        }
+        // The JVM creates the archive on exit, and silently recreates it when it no longer matches the classpath or the JVM
+        return ImmutableList.of("-XX:+AutoCreateSharedArchive", "-XX:SharedArchiveFile=" + archiveFor(workerSlot).getAbsolutePath());
+    }
+
+    /**
+     * The JVM refuses to create an archive once it loaded a class from a path entry that is, or comes after, a non-empty directory.
+     * Test classes are usually loaded from directories, so workers with a non-empty directory on their path don't use an archive at all.
+     */
+    private static boolean containsNonEmptyDirectory(Iterable<File> classpath) {
+        for (File entry : classpath) {
+            String[] children = entry.list();
+            if (children != null && children.length > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
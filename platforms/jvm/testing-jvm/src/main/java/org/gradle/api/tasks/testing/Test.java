@@ -36,6 +36,7 @@
 import org.gradle.api.internal.tasks.testing.TestExecuter;
 import org.gradle.api.internal.tasks.testing.TestFramework;
 import org.gradle.api.internal.tasks.testing.detection.DefaultTestExecuter;
+import org.gradle.api.internal.tasks.testing.detection.TestWorkerClassDataSharing;
 import org.gradle.api.internal.tasks.testing.filter.DefaultTestFilter;
 import org.gradle.api.internal.tasks.testing.filter.TestSelectionMatcher;
 import org.gradle.api.internal.tasks.testing.junit.JUnitTestFramework;
@@ -70,7 +71,10 @@
 import org.gradle.internal.Cast;
 import org.gradle.internal.UncheckedException;
 import org.gradle.internal.actor.ActorFactory;
+import org.gradle.internal.buildoption.InternalFlag;
+import org.gradle.internal.buildoption.InternalOptions;
 import org.gradle.internal.concurrent.CompositeStoppable;
+import org.gradle.internal.concurrent.ExecutorFactory;
 import org.gradle.internal.instrumentation.api.annotations.ToBeReplacedByLazyProperty;
 import org.gradle.internal.jvm.DefaultModularitySpec;
 import org.gradle.internal.jvm.JavaModuleDetector;
@@ -90,6 +94,7 @@
 import org.gradle.process.internal.JavaForkOptionsFactory;
 import org.gradle.process.internal.worker.WorkerProcessFactory;
 import org.gradle.util.internal.ConfigureUtil;
+import org.gradle.util.internal.GFileUtils;
 import org.jspecify.annotations.NullMarked;
 import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
@@ -98,7 +103,7 @@
 import javax.inject.Inject;
 import java.io.File;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -174,6 +179,9 @@
 public abstract class Test extends AbstractTestTask implements JavaForkOptions, PatternFilterable {
     private static final Logger LOGGER = LoggerFactory.getLogger(Test.class);
 
+    private static final InternalFlag WORKER_CLASS_DATA_SHARING = new InternalFlag("org.gradle.internal.testing.worker-class-data-sharing", false);
+    private static final InternalFlag BATCH_OUTPUT_EVENTS = new InternalFlag("org.gradle.internal.testing.batch-output-events", false);
+
     private final JavaForkOptions forkOptions;
     private final ModularitySpec modularity;
     private final Property<JavaLauncher> javaLauncher;
@@ -675,9 +683,13 @@ protected JvmTestExecutionSpec createTestExecutionSpec() {
         FileCollection classpath = javaModuleDetector.inferClasspath(testIsModule, stableClasspath);
         FileCollection modulePath = javaModuleDetector.inferModulePath(testIsModule, stableClasspath);
         Set<File> candidateTestDefinitionDirs = determineCandidateTestDefinitionDirs();
+        Set<String> previousFailedTestClasses = new HashSet<>();
+        Map<String, Long> previousTestClassDurations = new HashMap<>();
+        readPreviousTestClassResults(previousFailedTestClasses, previousTestClassDurations);
         return new JvmTestExecutionSpec(getTestFramework(), classpath, modulePath,
             getCandidateClassFiles(), isScanForTestClasses(), candidateTestDefinitionDirs,
-            getTestClassesDirs(), getPath(), getIdentityPath(), getForkEvery(), javaForkOptions, getMaxParallelForks(), getPreviousFailedTestClasses(), testIsModule);
+            getTestClassesDirs(), getPath(), getIdentityPath(), getForkEvery(), javaForkOptions, getMaxParallelForks(),
+            previousFailedTestClasses, previousTestClassDurations, testIsModule);
     }
 
     private Set<File> determineCandidateTestDefinitionDirs() {
@@ -715,10 +727,9 @@ private void validateExecutableMatchesToolchain() {
             toolchainExecutable, "toolchain from `javaLauncher` property");
     }
 
-    private Set<String> getPreviousFailedTestClasses() {
+    private void readPreviousTestClassResults(Set<String> previousFailedTestClasses, Map<String, Long> previousTestClassDurations) {
         SerializableTestResultStore store = new SerializableTestResultStore(getBinaryResultsDirectory().getAsFile().get().toPath());
         if (store.hasResults()) {
-            final Set<String> previousFailedTestClasses = new HashSet<>();
             try {
                 store.forEachResult((id, parentId, result, ranges) -> {
                     // Test class descriptors set both name and class name to the test class name
@@ -726,14 +737,13 @@ private Set<String> getPreviousFailedTestClasses() {
                         if (result.getResultType() == TestResult.ResultType.FAILURE) {
                             previousFailedTestClasses.add(result.getClassName());
                         }
+                        // Used to spread the slowest test classes across forks first
+                        previousTestClassDurations.merge(result.getClassName(), result.getDuration(), Long::sum);
                     }
                 });
             } catch (Exception e) {
                 throw UncheckedException.throwAsUncheckedException(e);
             }
-            return previousFailedTestClasses;
-        } else {
-            return Collections.emptySet();
         }
     }
 
@@ -802,12 +812,34 @@ protected TestExecuter<JvmTestExecutionSpec> createTestExecuter() {
                 getServices().get(WorkerLeaseService.class),
                 getServices().get(StartParameter.class).getMaxWorkerCount(),
                 getServices().get(Clock.class),
-                (DefaultTestFilter) getFilter());
+                (DefaultTestFilter) getFilter(),
+                getWorkerClassDataSharing(),
+                getServices().get(InternalOptions.class).getOption(BATCH_OUTPUT_EVENTS).get(),
+                getServices().get(ExecutorFactory.class));
         } else {
             return testExecuter;
         }
     }
 
+    /**
+     * Returns the class data sharing archives of the test workers, or {@code null} when test workers should not use them.
+     * <p>
+     * The archives are created by the test worker JVMs on exit and reused by the test workers of later executions of this task,
+     * so those start faster and do not load the test framework classes from scratch.
+     */
+    @Nullable
+    private TestWorkerClassDataSharing getWorkerClassDataSharing() {
+        if (!getServices().get(InternalOptions.class).getOption(WORKER_CLASS_DATA_SHARING).get()) {
+            return null;
+        }
+        if (!TestWorkerClassDataSharing.isSupportedBy(getJavaVersion())) {
+            return null;
+        }
+        File dir = new File(getTemporaryDir(), "class-data-sharing");
+        GFileUtils.mkdirs(dir);
+        return new TestWorkerClassDataSharing(dir);
+    }
+
     @Override
     protected List<String> getNoMatchingTestErrorReasons() {
         List<String> reasons = new ArrayList<>();
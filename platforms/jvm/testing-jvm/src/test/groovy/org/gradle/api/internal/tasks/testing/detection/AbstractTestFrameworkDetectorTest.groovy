@@ -0,0 +1,102 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.tasks.testing.detection
+
+import org.gradle.api.file.RelativePath
+import org.gradle.api.internal.file.RelativeFile
+import org.gradle.api.internal.tasks.testing.ClassTestDefinition
+import org.gradle.api.internal.tasks.testing.TestDefinitionProcessor
+import org.gradle.api.internal.tasks.testing.junit.JUnitDetector
+import org.gradle.internal.concurrent.DefaultExecutorFactory
+import org.gradle.internal.concurrent.ManagedExecutor
+import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
+import org.junit.Rule
+import org.objectweb.asm.ClassWriter
+import org.objectweb.asm.Opcodes
+import spock.lang.Specification
+
+class AbstractTestFrameworkDetectorTest extends Specification {
+    @Rule
+    final TestNameTestDirectoryProvider tmpDir = new TestNameTestDirectoryProvider(getClass())
+
+    def executorFactory = new DefaultExecutorFactory()
+    def published = []
+    def processor = Stub(TestDefinitionProcessor) {
+        processTestDefinition(_) >> { ClassTestDefinition definition -> published << definition.testClassName }
+    }
+    def detector = new JUnitDetector(new ClassFileExtractionManager({ tmpDir.createDir("extracted") }))
+
+    def setup() {
+        detector.setTestClasses([tmpDir.file("classes")])
+        detector.startDetection(processor)
+    }
+
+    def cleanup() {
+        executorFactory.stop()
+    }
+
+    def "publishes a subclass and its test superclass in visit order"() {
+        def files = [
+            classFile("org/SubTest", "org/BaseTest"),
+            classFile("org/BaseTest", "junit/framework/TestCase"),
+            classFile("org/Helper", "java/lang/Object"),
+            classFile("org/OtherTest", "org/SubTest")
+        ]
+
+        when:
+        detector.processTestClasses(files, executor(4))
+
+        then:
+        published == ["org.SubTest", "org.BaseTest", "org.OtherTest"]
+    }
+
+    def "publishes test classes in visit order when reading many class files concurrently"() {
+        def files = []
+        def expected = []
+        files << classFile("org/BaseTest", "junit/framework/TestCase")
+        expected << "org.BaseTest"
+        (0..<500).each {
+            if (it % 3 == 0) {
+                files << classFile("org/Helper$it", "java/lang/Object")
+            } else {
+                // the superclass of every other test class is visited later
+                files << classFile("org/Sub$it", it % 3 == 1 ? "org/Sub${it + 1}" : "org/BaseTest")
+                expected << "org.Sub$it".toString()
+            }
+        }
+
+        when:
+        detector.processTestClasses(files, executor(4))
+
+        then:
+        published == expected
+    }
+
+    private ManagedExecutor executor(int threads) {
+        return executorFactory.create("read class files", threads)
+    }
+
+    private RelativeFile classFile(String className, String superClassName) {
+        def writer = new ClassWriter(0)
+        writer.visit(Opcodes.V1_8, Opcodes.ACC_PUBLIC, className, null, superClassName, null)
+        writer.visitEnd()
+        def file = tmpDir.file("classes/${className}.class")
+        file.parentFile.mkdirs()
+        file.bytes = writer.toByteArray()
+        return new RelativeFile(file, RelativePath.parse(true, "${className}.class"))
+    }
+}
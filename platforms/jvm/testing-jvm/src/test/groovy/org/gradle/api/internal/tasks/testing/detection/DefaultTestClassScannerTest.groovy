@@ -51,9 +51,11 @@ class DefaultTestClassScannerTest extends Specification {
             visitor.visitFile(class2)
         }
         then:
-        1 * detector.processTestClass({ it.file.is(class1.file) && it.relativePath.is(class1.relativePath) })
-        then:
-        1 * detector.processTestClass({ it.file.is(class2.file) && it.relativePath.is(class2.relativePath) })
+        1 * detector.processTestClasses({ List files ->
+            files.size() == 2 &&
+                files[0].file.is(class1.file) && files[0].relativePath.is(class1.relativePath) &&
+                files[1].file.is(class2.file) && files[1].relativePath.is(class2.relativePath)
+        }, _)
 
         0 * _._
     }
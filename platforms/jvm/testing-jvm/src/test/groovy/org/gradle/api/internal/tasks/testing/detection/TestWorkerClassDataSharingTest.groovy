@@ -0,0 +1,74 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.tasks.testing.detection
+
+import org.gradle.api.JavaVersion
+import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
+import org.junit.Rule
+import spock.lang.Specification
+
+class TestWorkerClassDataSharingTest extends Specification {
+    @Rule
+    final TestNameTestDirectoryProvider tmpDir = new TestNameTestDirectoryProvider(getClass())
+
+    def classDataSharing = new TestWorkerClassDataSharing(tmpDir.file("class-data-sharing"))
+
+    def "is supported from Java 19"() {
+        expect:
+        TestWorkerClassDataSharing.isSupportedBy(javaVersion) == supported
+
+        where:
+        javaVersion             | supported
+        JavaVersion.VERSION_1_8 | false
+        JavaVersion.VERSION_17  | false
+        JavaVersion.VERSION_18  | false
+        JavaVersion.VERSION_19  | true
+        JavaVersion.VERSION_21  | true
+    }
+
+    def "each worker slot gets a stable archive"() {
+        expect:
+        classDataSharing.archiveFor(0) == tmpDir.file("class-data-sharing/worker-0.jsa")
+        classDataSharing.archiveFor(1) == tmpDir.file("class-data-sharing/worker-1.jsa")
+        classDataSharing.archiveFor(1) == new TestWorkerClassDataSharing(tmpDir.file("class-data-sharing")).archiveFor(1)
+    }
+
+    def "adds arguments to create and use the archive of the worker slot"() {
+        expect:
+        classDataSharing.jvmArgsFor(1, ["-Xmx512m"], [tmpDir.createFile("lib.jar"), tmpDir.createDir("empty")]) == [
+            "-XX:+AutoCreateSharedArchive",
+            "-XX:SharedArchiveFile=" + tmpDir.file("class-data-sharing/worker-1.jsa").absolutePath
+        ]
+    }
+
+    def "adds no arguments when the user configured class data sharing"() {
+        expect:
+        classDataSharing.jvmArgsFor(0, ["-Xmx512m", userArg], [tmpDir.createFile("lib.jar")]).empty
+
+        where:
+        userArg << ["-XX:SharedArchiveFile=/tmp/app.jsa", "-Xshare:off", "-Xshare:auto"]
+    }
+
+    def "adds no arguments when a non-empty directory is on the class or module path"() {
+        def classesDir = tmpDir.createDir("classes")
+        classesDir.createFile("FooTest.class")
+
+        expect:
+        classDataSharing.jvmArgsFor(0, [], [classesDir, tmpDir.createFile("lib.jar")]).empty
+        classDataSharing.jvmArgsFor(0, [], [tmpDir.createFile("lib.jar"), classesDir]).empty
+    }
+}
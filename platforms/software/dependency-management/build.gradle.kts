@@ -1,5 +1,6 @@
 plugins {
     id("gradlebuild.distribution.implementation-java")
+    id("gradlebuild.jmh")
 }
 
 description = """This project contains most of the dependency management logic of Gradle:
@@ -91,6 +92,8 @@ dependencies {
     testImplementation(testFixtures(projects.toolingApi))
     testImplementation(testFixtures(projects.versionControl))
 
+    jmh(platform(projects.distributionsDependencies))
+
     integTestImplementation(projects.buildOption)
     integTestImplementation(libs.jansi)
     integTestImplementation(libs.ansiControlSequenceUtil)
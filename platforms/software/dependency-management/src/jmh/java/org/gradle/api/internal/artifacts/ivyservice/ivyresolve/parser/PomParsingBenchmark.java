@@ -0,0 +1,170 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.artifacts.ivyservice.ivyresolve.parser;
+
+import org.gradle.internal.xml.XmlFactories;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.w3c.dom.Document;
+import org.xml.sax.InputSource;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Compares the streaming POM parser with the DOM based parsing it replaced.
+ * <p>
+ * The corpus mimics the shapes of POMs found on Maven Central: large BOMs with hundreds of managed versions driven by properties,
+ * parent POMs with profiles, and small library POMs with a handful of dependencies and exclusions.
+ */
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@State(Scope.Benchmark)
+public class PomParsingBenchmark {
+    private static final String SYSTEM_ID = "file:/benchmark/pom.xml";
+
+    @Param({"bom", "parent", "library"})
+    String shape;
+
+    private final List<byte[]> corpus = new ArrayList<>();
+    private DocumentBuilderFactory documentBuilderFactory;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        documentBuilderFactory = XmlFactories.newDocumentBuilderFactory();
+        documentBuilderFactory.setValidating(false);
+        for (int i = 0; i < 20; i++) {
+            corpus.add(generate(shape, i).getBytes(UTF_8));
+        }
+    }
+
+    @Benchmark
+    public void streaming(Blackhole blackhole) throws Exception {
+        for (byte[] pom : corpus) {
+            blackhole.consume(PomStreamParser.parse(new ByteArrayInputStream(pom), SYSTEM_ID));
+        }
+    }
+
+    @Benchmark
+    public void dom(Blackhole blackhole) throws Exception {
+        for (byte[] pom : corpus) {
+            DocumentBuilder builder = documentBuilderFactory.newDocumentBuilder();
+            builder.setEntityResolver((publicId, systemId) -> {
+                if (systemId != null && systemId.endsWith("m2-entities.ent")) {
+                    return new InputSource(org.apache.ivy.plugins.parser.m2.PomReader.class.getResourceAsStream("m2-entities.ent"));
+                }
+                return null;
+            });
+            Document document = builder.parse(new PomStreamParser.AddDTDFilterInputStream(new ByteArrayInputStream(pom)), SYSTEM_ID);
+            blackhole.consume(document);
+        }
+    }
+
+    private static String generate(String shape, int seed) {
+        switch (shape) {
+            case "bom":
+                return pom(seed, 800, 0, 0, 400);
+            case "parent":
+                return pom(seed, 150, 20, 4, 60);
+            case "library":
+                return pom(seed, 0, 12, 0, 5);
+            default:
+                throw new IllegalArgumentException(shape);
+        }
+    }
+
+    private static String pom(int seed, int managed, int dependencies, int profiles, int properties) {
+        StringBuilder pom = new StringBuilder(64 * 1024);
+        pom.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+        pom.append("<project xmlns=\"http://maven.apache.org/POM/4.0.0\" xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\">\n");
+        pom.append("  <!-- Generated for benchmarking -->\n");
+        pom.append("  <modelVersion>4.0.0</modelVersion>\n");
+        pom.append("  <parent><groupId>org.example</groupId><artifactId>example-parent</artifactId><version>3.1.").append(seed).append("</version></parent>\n");
+        pom.append("  <artifactId>module-").append(seed).append("</artifactId>\n");
+        pom.append("  <name>Module ").append(seed).append("</name>\n");
+        pom.append("  <description>A module &copy; Example&nbsp;Corp. <![CDATA[Some <b>markup</b>]]></description>\n");
+        pom.append("  <licenses><license><name>Apache License, Version 2.0</name><url>https://www.apache.org/licenses/LICENSE-2.0</url></license></licenses>\n");
+        pom.append("  <properties>\n");
+        for (int i = 0; i < properties; i++) {
+            pom.append("    <lib").append(i).append(".version>").append(i % 7).append('.').append(i % 13).append(".0</lib").append(i).append(".version>\n");
+        }
+        pom.append("  </properties>\n");
+        if (managed > 0) {
+            pom.append("  <dependencyManagement>\n    <dependencies>\n");
+            for (int i = 0; i < managed; i++) {
+                dependency(pom, i, properties);
+            }
+            pom.append("    </dependencies>\n  </dependencyManagement>\n");
+        }
+        if (dependencies > 0) {
+            pom.append("  <dependencies>\n");
+            for (int i = 0; i < dependencies; i++) {
+                dependency(pom, i, properties);
+            }
+            pom.append("  </dependencies>\n");
+        }
+        if (profiles > 0) {
+            pom.append("  <profiles>\n");
+            for (int i = 0; i < profiles; i++) {
+                pom.append("    <profile><id>profile-").append(i).append("</id><activation><property><name>!skip").append(i).append("</name></property></activation>\n");
+                pom.append("      <properties><profile").append(i).append(".enabled>true</profile").append(i).append(".enabled></properties>\n");
+                pom.append("      <build><plugins><plugin><artifactId>maven-surefire-plugin</artifactId><configuration><skip>false</skip></configuration></plugin></plugins></build>\n");
+                pom.append("    </profile>\n");
+            }
+            pom.append("  </profiles>\n");
+        }
+        pom.append("  <build>\n    <plugins>\n");
+        for (int i = 0; i < 5; i++) {
+            pom.append("      <plugin><groupId>org.apache.maven.plugins</groupId><artifactId>maven-plugin-").append(i).append("</artifactId><version>3.").append(i).append(".0</version></plugin>\n");
+        }
+        pom.append("    </plugins>\n  </build>\n");
+        pom.append("</project>\n");
+        return pom.toString();
+    }
+
+    private static void dependency(StringBuilder pom, int i, int properties) {
+        pom.append("      <dependency>\n");
+        pom.append("        <groupId>org.example.group").append(i % 40).append("</groupId>\n");
+        pom.append("        <artifactId>library-").append(i).append("</artifactId>\n");
+        if (properties > 0) {
+            pom.append("        <version>${lib").append(i % properties).append(".version}</version>\n");
+        } else {
+            pom.append("        <version>1.").append(i).append("</version>\n");
+        }
+        if (i % 5 == 0) {
+            pom.append("        <scope>test</scope>\n");
+        }
+        if (i % 9 == 0) {
+            pom.append("        <exclusions><exclusion><groupId>commons-logging</groupId><artifactId>commons-logging</artifactId></exclusion></exclusions>\n");
+        }
+        pom.append("      </dependency>\n");
+    }
+}
@@ -111,6 +111,7 @@
 import org.gradle.internal.resource.local.LocallyAvailableResourceFinder;
 import org.gradle.internal.resource.local.ivy.LocallyAvailableResourceFinderFactory;
 import org.gradle.internal.resource.transfer.CachingTextUriResourceLoader;
+import org.gradle.internal.resource.transfer.RemoteHostConnectionLimiter;
 import org.gradle.internal.service.Provides;
 import org.gradle.internal.service.ServiceRegistration;
 import org.gradle.internal.service.ServiceRegistrationProvider;
@@ -276,7 +277,8 @@ RepositoryTransportFactory createRepositoryTransportFactory(
         ProducerGuard<ExternalResourceName> producerGuard,
         FileResourceRepository fileResourceRepository,
         ChecksumService checksumService,
-        StartParameterResolutionOverride startParameterResolutionOverride
+        StartParameterResolutionOverride startParameterResolutionOverride,
+        RemoteHostConnectionLimiter remoteHostConnectionLimiter
     ) {
         return artifactCachesProvider.withWritableCache((md, manager) -> new RepositoryTransportFactory(
             resourceConnectorFactories,
@@ -288,10 +290,16 @@ RepositoryTransportFactory createRepositoryTransportFactory(
             startParameterResolutionOverride,
             producerGuard,
             fileResourceRepository,
-            checksumService
+            checksumService,
+            remoteHostConnectionLimiter
         ));
     }
 
+    @Provides
+    RemoteHostConnectionLimiter createRemoteHostConnectionLimiter() {
+        return new RemoteHostConnectionLimiter();
+    }
+
     @Provides
     DependencyVerificationOverride createDependencyVerificationOverride(
         StartParameterResolutionOverride startParameterResolutionOverride,
@@ -24,6 +24,9 @@
 import org.gradle.api.internal.artifacts.ComponentMetadataProcessor;
 import org.gradle.api.internal.artifacts.DefaultModuleVersionIdentifier;
 import org.gradle.api.internal.artifacts.ivyservice.CacheExpirationControl;
+import org.gradle.api.internal.artifacts.ivyservice.ivyresolve.strategy.Version;
+import org.gradle.api.internal.artifacts.ivyservice.ivyresolve.strategy.VersionComparator;
+import org.gradle.api.internal.artifacts.ivyservice.ivyresolve.strategy.VersionParser;
 import org.gradle.api.internal.artifacts.ivyservice.modulecache.ModuleMetadataCache;
 import org.gradle.api.internal.artifacts.ivyservice.modulecache.ModuleRepositoryCaches;
 import org.gradle.api.internal.artifacts.ivyservice.modulecache.artifacts.ArtifactAtRepositoryKey;
@@ -60,6 +63,9 @@
 
 import java.io.File;
 import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -86,6 +92,8 @@ public class CachingModuleComponentRepository implements ModuleComponentReposito
     private final CacheExpirationControl cacheExpirationControl;
     private final BuildCommencedTimeProvider timeProvider;
     private final ComponentMetadataProcessor metadataProcessor;
+    private final VersionComparator versionComparator;
+    private final VersionParser versionParser;
     private final ChangingValueDependencyResolutionListener listener;
     private final LocateInCacheRepositoryAccess locateInCacheRepositoryAccess = new LocateInCacheRepositoryAccess();
     private final ResolveAndCacheRepositoryAccess resolveAndCacheRepositoryAccess = new ResolveAndCacheRepositoryAccess();
@@ -97,6 +105,8 @@ public CachingModuleComponentRepository(
         CacheExpirationControl cacheExpirationControl,
         BuildCommencedTimeProvider timeProvider,
         ComponentMetadataProcessor metadataProcessor,
+        VersionComparator versionComparator,
+        VersionParser versionParser,
         ChangingValueDependencyResolutionListener listener
     ) {
         this.delegate = delegate;
@@ -108,6 +118,8 @@ public CachingModuleComponentRepository(
         this.cacheExpirationControl = cacheExpirationControl;
         this.timeProvider = timeProvider;
         this.metadataProcessor = metadataProcessor;
+        this.versionComparator = versionComparator;
+        this.versionParser = versionParser;
         this.listener = listener;
     }
 
@@ -378,7 +390,7 @@ public void listModuleVersions(ModuleComponentSelector selector, ComponentOverri
                         .stream()
                         .map(original -> DefaultModuleVersionIdentifier.newId(moduleId, original))
                         .collect(Collectors.toSet());
-                    moduleVersionsCache.cacheModuleVersionList(delegate, moduleId, versionList);
+                    moduleVersionsCache.cacheModuleVersionList(delegate, moduleId, sortLatestFirst(versionList));
                     listener.onDynamicVersionSelection(
                         selector,
                         cacheExpirationControl.versionListExpiry(moduleId, versions, Duration.ZERO),
@@ -392,6 +404,18 @@ public void listModuleVersions(ModuleComponentSelector selector, ComponentOverri
             }
         }
 
+        /**
+         * Orders the listing latest first, as the version selection expects, so that listings read back from the cache are already sorted.
+         */
+        private Set<String> sortLatestFirst(Set<String> versionList) {
+            List<Version> versions = versionList.stream().map(versionParser::transform).sorted(Collections.reverseOrder(versionComparator.asVersionComparator())).collect(Collectors.toList());
+            Set<String> sorted = new LinkedHashSet<>(versions.size());
+            for (Version version : versions) {
+                sorted.add(version.getSource());
+            }
+            return sorted;
+        }
+
         @Override
         public void resolveComponentMetaData(ModuleComponentIdentifier moduleComponentIdentifier, ComponentOverrideMetadata requestMetaData, BuildableModuleComponentMetaDataResolveResult<ExternalModuleComponentGraphResolveState> result) {
             resolveComponentMetaDataAndCache(moduleComponentIdentifier, requestMetaData, result);
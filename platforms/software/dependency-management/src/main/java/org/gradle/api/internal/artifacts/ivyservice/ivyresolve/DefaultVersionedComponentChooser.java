@@ -23,8 +23,10 @@
 import org.gradle.api.internal.artifacts.ComponentSelectionInternal;
 import org.gradle.api.internal.artifacts.ComponentSelectionRulesInternal;
 import org.gradle.api.internal.artifacts.DefaultComponentSelection;
+import org.gradle.api.internal.artifacts.ivyservice.ivyresolve.strategy.Version;
 import org.gradle.api.internal.artifacts.ivyservice.ivyresolve.strategy.VersionComparator;
 import org.gradle.api.internal.artifacts.ivyservice.ivyresolve.strategy.VersionParser;
+import org.gradle.api.internal.artifacts.ivyservice.ivyresolve.strategy.VersionRangeSelector;
 import org.gradle.api.internal.artifacts.ivyservice.ivyresolve.strategy.VersionSelector;
 import org.gradle.api.internal.artifacts.repositories.ArtifactResolutionDetails;
 import org.gradle.api.internal.attributes.AttributeContainerInternal;
@@ -44,6 +46,7 @@
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 
 class DefaultVersionedComponentChooser implements VersionedComponentChooser {
@@ -97,13 +100,18 @@ public void selectNewestMatchingComponent(Collection<? extends ModuleComponentRe
         // Loop over all listed versions, sorted by LATEST first
         List<ModuleComponentResolveState> resolveStates = sortLatestFirst(versions);
         Action<? super ArtifactResolutionDetails> contentFilter = result.getContentFilter();
-        for (ModuleComponentResolveState candidate : resolveStates) {
-            if (contentFilter != null) {
-                DynamicArtifactResolutionDetails details = new DynamicArtifactResolutionDetails(candidate);
-                contentFilter.execute(details);
-                if (!details.found) {
-                    continue;
-                }
+
+        // Versions above the upper bound of a range cannot match, so find the first candidate using a binary search
+        int firstCandidate = firstCandidateWithinUpperBound(resolveStates, requestedVersionMatcher);
+        for (ModuleComponentResolveState candidate : resolveStates.subList(0, firstCandidate)) {
+            if (isIncludedByContentFilter(contentFilter, candidate)) {
+                result.notMatched(candidate.getId(), requestedVersionMatcher);
+            }
+        }
+
+        for (ModuleComponentResolveState candidate : resolveStates.subList(firstCandidate, resolveStates.size())) {
+            if (!isIncludedByContentFilter(contentFilter, candidate)) {
+                continue;
             }
 
             DefaultMetadataProvider metadataProvider = createMetadataProvider(candidate);
@@ -152,6 +160,40 @@ public void selectNewestMatchingComponent(Collection<? extends ModuleComponentRe
         result.noMatchFound();
     }
 
+    private static boolean isIncludedByContentFilter(@Nullable Action<? super ArtifactResolutionDetails> contentFilter, ModuleComponentResolveState candidate) {
+        if (contentFilter == null) {
+            return true;
+        }
+        DynamicArtifactResolutionDetails details = new DynamicArtifactResolutionDetails(candidate);
+        contentFilter.execute(details);
+        return details.found;
+    }
+
+    /**
+     * Returns the index of the first of the given candidates, sorted latest first, that is not above the upper bound of the given selector.
+     */
+    private int firstCandidateWithinUpperBound(List<ModuleComponentResolveState> candidates, VersionSelector selector) {
+        if (!(selector instanceof VersionRangeSelector)) {
+            return 0;
+        }
+        Version upperBound = ((VersionRangeSelector) selector).getUpperBoundVersion();
+        if (upperBound == null) {
+            return 0;
+        }
+        Comparator<Version> comparator = versionComparator.asVersionComparator();
+        int low = 0;
+        int high = candidates.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (comparator.compare(candidates.get(mid).getVersion(), upperBound) > 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
     @Nullable
     private RejectedByAttributesVersion tryRejectByAttributes(ModuleComponentIdentifier id, MetadataProvider provider, ImmutableAttributes consumerAttributes) {
         if (consumerAttributes.isEmpty()) {
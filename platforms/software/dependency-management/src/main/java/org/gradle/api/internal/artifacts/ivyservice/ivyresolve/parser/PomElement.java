@@ -0,0 +1,75 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.artifacts.ivyservice.ivyresolve.parser;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A lightweight, read-only element of a parsed POM, produced by {@link PomStreamParser}.
+ * <p>
+ * Only keeps what {@link PomReader} needs: the element name, the concatenated text of its direct text and CDATA children,
+ * and its child elements. This is much cheaper to build and to hold on to than a full DOM.
+ */
+public final class PomElement {
+    private final String name;
+    private List<PomElement> children = Collections.emptyList();
+    private String text = "";
+    private boolean gradleMetadataMarker;
+
+    PomElement(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the concatenated text of the direct text and CDATA children of this element.
+     */
+    public String getText() {
+        return text;
+    }
+
+    public List<PomElement> getChildren() {
+        return children;
+    }
+
+    /**
+     * Returns true when a direct comment child of this element contains a Gradle metadata marker.
+     */
+    public boolean hasGradleMetadataMarker() {
+        return gradleMetadataMarker;
+    }
+
+    void addChild(PomElement child) {
+        if (children.isEmpty()) {
+            children = new ArrayList<>(4);
+        }
+        children.add(child);
+    }
+
+    void setText(String text) {
+        this.text = text;
+    }
+
+    void markGradleMetadata() {
+        gradleMetadataMarker = true;
+    }
+}
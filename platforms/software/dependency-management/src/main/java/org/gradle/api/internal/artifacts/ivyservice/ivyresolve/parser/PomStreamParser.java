@@ -0,0 +1,292 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.artifacts.ivyservice.ivyresolve.parser;
+
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import org.apache.commons.io.IOUtils;
+import org.gradle.internal.UncheckedException;
+import org.gradle.internal.classloader.ClassLoaderUtils;
+import org.gradle.internal.xml.XmlFactories;
+import org.jspecify.annotations.Nullable;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLResolver;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.LineNumberReader;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Parses a POM in a single streaming pass into a tree of {@link PomElement}s.
+ * <p>
+ * The text of {@code groupId}, {@code artifactId} and {@code version} elements is interned, as the same coordinates
+ * appear over and over again across the POMs of a dependency graph.
+ */
+public final class PomStreamParser {
+    private static final Interner<String> COORDINATES = Interners.newWeakInterner();
+    private static final byte[] M2_ENTITIES_RESOURCE;
+
+    static {
+        byte[] bytes;
+        try {
+            bytes = IOUtils.toByteArray(org.apache.ivy.plugins.parser.m2.PomReader.class.getResourceAsStream("m2-entities.ent"));
+        } catch (IOException e) {
+            throw UncheckedException.throwAsUncheckedException(e);
+        }
+        M2_ENTITIES_RESOURCE = bytes;
+    }
+
+    private static final XMLResolver M2_ENTITY_RESOLVER = (publicId, systemId, baseUri, namespace) -> {
+        if ((systemId != null) && systemId.endsWith("m2-entities.ent")) {
+            return new ByteArrayInputStream(M2_ENTITIES_RESOURCE);
+        }
+        return null;
+    };
+
+    // XMLInputFactory implementations are not guaranteed to be thread-safe, so keep one per thread
+    private static final ThreadLocal<XMLInputFactory> INPUT_FACTORY = ThreadLocal.withInitial(PomStreamParser::createInputFactory);
+
+    private PomStreamParser() {}
+
+    private static XMLInputFactory createInputFactory() {
+        // Set the context classloader the bootstrap classloader, to work around the way that JAXP locates implementation classes
+        // This should ensure that the JAXP classes provided by the JVM are used, rather than some other implementation
+        ClassLoader original = Thread.currentThread().getContextClassLoader();
+        Thread.currentThread().setContextClassLoader(ClassLoaderUtils.getPlatformClassLoader());
+        try {
+            XMLInputFactory factory = XmlFactories.newXMLInputFactory();
+            // The DTD is needed to declare the HTML entities that are commonly found in POMs, external entities stay disabled
+            factory.setProperty(XMLInputFactory.SUPPORT_DTD, true);
+            factory.setProperty(XMLInputFactory.IS_REPLACING_ENTITY_REFERENCES, true);
+            factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+            factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+            factory.setXMLResolver(M2_ENTITY_RESOLVER);
+            return factory;
+        } finally {
+            Thread.currentThread().setContextClassLoader(original);
+        }
+    }
+
+    /**
+     * Parses the given POM content and returns its root element.
+     */
+    public static PomElement parse(InputStream stream, String systemId) throws IOException, XMLStreamException {
+        InputStream dtdStream = new AddDTDFilterInputStream(stream);
+        XMLStreamReader reader = INPUT_FACTORY.get().createXMLStreamReader(systemId, dtdStream);
+        try {
+            return readDocument(reader);
+        } finally {
+            reader.close();
+        }
+    }
+
+    private static PomElement readDocument(XMLStreamReader reader) throws XMLStreamException {
+        Deque<PomElement> elements = new ArrayDeque<>();
+        Deque<StringBuilder> texts = new ArrayDeque<>();
+        PomElement root = null;
+        while (reader.hasNext()) {
+            switch (reader.next()) {
+                case XMLStreamConstants.START_ELEMENT:
+                    PomElement element = new PomElement(qualifiedName(reader.getPrefix(), reader.getLocalName()));
+                    if (elements.isEmpty()) {
+                        root = element;
+                    } else {
+                        elements.peek().addChild(element);
+                    }
+                    elements.push(element);
+                    texts.push(new StringBuilder());
+                    break;
+                case XMLStreamConstants.CHARACTERS:
+                case XMLStreamConstants.CDATA:
+                case XMLStreamConstants.SPACE:
+                    if (!texts.isEmpty()) {
+                        texts.peek().append(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+                    }
+                    break;
+                case XMLStreamConstants.COMMENT:
+                    if (elements.size() == 1 && isGradleMetadataMarker(reader.getText())) {
+                        elements.peek().markGradleMetadata();
+                    }
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    PomElement ended = elements.pop();
+                    ended.setText(textOf(ended.getName(), texts.pop()));
+                    break;
+                default:
+                    break;
+            }
+        }
+        if (root == null) {
+            throw new XMLStreamException("Premature end of file.", reader.getLocation());
+        }
+        return root;
+    }
+
+    private static String qualifiedName(@Nullable String prefix, String localName) {
+        if (prefix == null || prefix.isEmpty()) {
+            return localName;
+        }
+        return prefix + ":" + localName;
+    }
+
+    private static boolean isGradleMetadataMarker(String comment) {
+        return comment.contains(MetaDataParser.GRADLE_6_METADATA_MARKER) || comment.contains(MetaDataParser.GRADLE_METADATA_MARKER);
+    }
+
+    private static String textOf(String elementName, StringBuilder text) {
+        if (text.length() == 0) {
+            return "";
+        }
+        String value = text.toString();
+        switch (elementName) {
+            case "groupId":
+            case "artifactId":
+            case "version":
+                return COORDINATES.intern(value);
+            default:
+                return value;
+        }
+    }
+
+    public static String getTextContent(PomElement element) {
+        return element.getText();
+    }
+
+    @Nullable
+    public static String getFirstChildText(@Nullable PomElement parentElem, String name) {
+        PomElement node = getFirstChildElement(parentElem, name);
+        if (node != null) {
+            return getTextContent(node);
+        } else {
+            return null;
+        }
+    }
+
+    @Nullable
+    public static PomElement getFirstChildElement(@Nullable PomElement parentElem, String name) {
+        if (parentElem == null) {
+            return null;
+        }
+        for (PomElement child : parentElem.getChildren()) {
+            if (name.equals(child.getName())) {
+                return child;
+            }
+        }
+        return null;
+    }
+
+    public static List<PomElement> getAllChilds(@Nullable PomElement parent) {
+        if (parent == null) {
+            return Collections.emptyList();
+        }
+        return parent.getChildren();
+    }
+
+    public static final class AddDTDFilterInputStream extends FilterInputStream {
+        private static final int MARK = 10000;
+        private static final String DOCTYPE = "<!DOCTYPE project SYSTEM \"m2-entities.ent\">\n";
+
+        private int count;
+        private byte[] prefix = DOCTYPE.getBytes(UTF_8);
+
+        public AddDTDFilterInputStream(InputStream in) throws IOException {
+            super(new BufferedInputStream(in));
+
+            this.in.mark(MARK);
+
+            // The DOCTYPE declaring the Maven entities must follow the XML declaration and any byte order mark,
+            // so look at the start of the document before deciding where to insert it
+            int byte1 = this.in.read();
+            int byte2 = this.in.read();
+            int byte3 = this.in.read();
+
+            if (byte1 == 239 && byte2 == 187 && byte3 == 191) {
+                // skip the UTF-8 BOM
+                this.in.mark(MARK);
+            } else {
+                this.in.reset();
+            }
+
+            int bytesToSkip = 0;
+            LineNumberReader reader = new LineNumberReader(new InputStreamReader(this.in, UTF_8), 100);
+            String firstLine = reader.readLine();
+            if (firstLine != null) {
+                String trimmed = firstLine.trim();
+                if (trimmed.startsWith("<?xml ")) {
+                    int endIndex = trimmed.indexOf("?>");
+                    String xmlDecl = trimmed.substring(0, endIndex + 2);
+                    prefix = (xmlDecl + "\n" + DOCTYPE).getBytes(UTF_8);
+                    bytesToSkip = xmlDecl.getBytes(UTF_8).length;
+                }
+            }
+
+            this.in.reset();
+            for (int i = 0; i < bytesToSkip; i++) {
+                this.in.read();
+            }
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (count < prefix.length) {
+                return prefix[count++];
+            }
+
+            return super.read();
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (b == null) {
+                throw new NullPointerException();
+            } else if ((off < 0) || (off > b.length) || (len < 0)
+                    || ((off + len) > b.length) || ((off + len) < 0)) {
+                throw new IndexOutOfBoundsException();
+            } else if (len == 0) {
+                return 0;
+            }
+
+            int nbrBytesCopied = 0;
+
+            if (count < prefix.length) {
+                int nbrBytesFromPrefix = Math.min(prefix.length - count, len);
+                System.arraycopy(prefix, count, b, off, nbrBytesFromPrefix);
+                nbrBytesCopied = nbrBytesFromPrefix;
+            }
+
+            if (nbrBytesCopied < len) {
+                nbrBytesCopied += in.read(b, off + nbrBytesCopied, len - nbrBytesCopied);
+            }
+
+            count += nbrBytesCopied;
+            return nbrBytesCopied;
+        }
+    }
+}
@@ -36,12 +36,18 @@
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 
 import static org.gradle.api.internal.artifacts.verification.signatures.CrossBuildCachingKeyService.MISSING_KEY_TIMEOUT;
 
 public class CrossBuildSignatureVerificationService implements SignatureVerificationService {
+    /**
+     * The version of the format of the cache keys and entries. A cache written with another version, or before versions were recorded, is discarded when opened.
+     */
+    static final String CACHE_FORMAT_VERSION = "2";
+
     private final SignatureVerificationService delegate;
     private final FileHasher fileHasher;
     private final BuildCommencedTimeProvider timeProvider;
@@ -67,25 +73,25 @@ public CrossBuildSignatureVerificationService(SignatureVerificationService deleg
         this.keyringFileHash = keyringFileHash;
         store = cacheBuilderFactory.createCacheBuilder("signature-verification")
             .withDisplayName("Signature verification cache")
+            .withProperties(Collections.singletonMap("formatVersion", CACHE_FORMAT_VERSION))
             .withInitialLockMode(FileLockManager.LockMode.OnDemand)
             .open();
         InterningStringSerializer stringSerializer = new InterningStringSerializer(new StringInterner());
         cache = store.createIndexedCache(
             IndexedCacheParameters.of(
                 "signature-verification",
-                new CacheKeySerializer(stringSerializer, new SetSerializer<>(stringSerializer)),
+                new CacheKeySerializer(new SetSerializer<>(stringSerializer)),
                 new CacheEntrySerializer(stringSerializer)
             ).withCacheDecorator(inMemoryCacheDecoratorFactory.decorator(500, true)));
     }
 
     @Override
     public void verify(File origin, File signature, Set<String> trustedKeys, Set<String> ignoredKeys, SignatureVerificationResultBuilder builder) {
-        CacheKey cacheKey = new CacheKey(origin.getAbsolutePath(), signature.getAbsolutePath(), trustedKeys, ignoredKeys, useKeyServers, keyringFileHash);
-        HashCode originHash = fileHasher.hash(origin);
-        HashCode signatureHash = fileHasher.hash(signature);
+        // Results are keyed by content rather than location, so that they are shared by all copies of an artifact and its signature
+        CacheKey cacheKey = new CacheKey(fileHasher.hash(origin), fileHasher.hash(signature), trustedKeys, ignoredKeys, useKeyServers, keyringFileHash);
         CacheEntry entry = cache.getIfPresent(cacheKey);
-        if (entry == null || entry.updated(originHash, signatureHash) || hasExpired(entry)) {
-            entry = performActualVerification(origin, signature, trustedKeys, ignoredKeys, originHash, signatureHash);
+        if (entry == null || hasExpired(entry)) {
+            entry = performActualVerification(origin, signature, trustedKeys, ignoredKeys);
             cache.put(cacheKey, entry);
         }
         entry.applyTo(builder);
@@ -105,8 +111,8 @@ public PublicKeyService getPublicKeyService() {
         return delegate.getPublicKeyService();
     }
 
-    private CacheEntry performActualVerification(File origin, File signature, Set<String> trustedKeys, Set<String> ignoredKeys, HashCode originHash, HashCode signatureHash) {
-        CacheEntryBuilder result = new CacheEntryBuilder(timeProvider.getCurrentTime(), originHash, signatureHash);
+    private CacheEntry performActualVerification(File origin, File signature, Set<String> trustedKeys, Set<String> ignoredKeys) {
+        CacheEntryBuilder result = new CacheEntryBuilder(timeProvider.getCurrentTime());
         delegate.verify(origin, signature, trustedKeys, ignoredKeys, result);
         return result.build();
     }
@@ -118,16 +124,16 @@ public void stop() {
     }
 
     private static class CacheKey {
-        private final String filePath;
-        private final String signaturePath;
+        private final HashCode originHash;
+        private final HashCode signatureHash;
         private final Set<String> trustedKeys;
         private final Set<String> ignoredKeys;
         private final boolean useKeyServers;
         private final HashCode keyringFileHash;
 
-        private CacheKey(String filePath, String signaturePath, Set<String> trustedKeys, Set<String> ignoredKeys, boolean useKeyServers, HashCode keyringFileHash) {
-            this.filePath = filePath;
-            this.signaturePath = signaturePath;
+        private CacheKey(HashCode originHash, HashCode signatureHash, Set<String> trustedKeys, Set<String> ignoredKeys, boolean useKeyServers, HashCode keyringFileHash) {
+            this.originHash = originHash;
+            this.signatureHash = signatureHash;
             this.trustedKeys = trustedKeys;
             this.ignoredKeys = ignoredKeys;
             this.useKeyServers = useKeyServers;
@@ -145,10 +151,10 @@ public boolean equals(Object o) {
 
             CacheKey cacheKey = (CacheKey) o;
 
-            if (!filePath.equals(cacheKey.filePath)) {
+            if (!originHash.equals(cacheKey.originHash)) {
                 return false;
             }
-            if (!signaturePath.equals(cacheKey.signaturePath)) {
+            if (!signatureHash.equals(cacheKey.signatureHash)) {
                 return false;
             }
             if (!trustedKeys.equals(cacheKey.trustedKeys)) {
@@ -165,8 +171,8 @@ public boolean equals(Object o) {
 
         @Override
         public int hashCode() {
-            int result = filePath.hashCode();
-            result = 31 * result + signaturePath.hashCode();
+            int result = originHash.hashCode();
+            result = 31 * result + signatureHash.hashCode();
             result = 31 * result + trustedKeys.hashCode();
             result = 31 * result + ignoredKeys.hashCode();
             result = 31 * result + Boolean.hashCode(useKeyServers);
@@ -176,25 +182,23 @@ public int hashCode() {
     }
 
     private static class CacheKeySerializer extends AbstractSerializer<CacheKey> {
-        private final InterningStringSerializer delegate;
         private final SetSerializer<String> setSerializer;
         private final HashCodeSerializer hashCodeSerializer;
 
-        private CacheKeySerializer(InterningStringSerializer stringSerializer, SetSerializer<String> setSerializer) {
-            this.delegate = stringSerializer;
+        private CacheKeySerializer(SetSerializer<String> setSerializer) {
             this.setSerializer = setSerializer;
             this.hashCodeSerializer = new HashCodeSerializer();
         }
 
         @Override
         public CacheKey read(Decoder decoder) throws Exception {
-            return new CacheKey(delegate.read(decoder), delegate.read(decoder), setSerializer.read(decoder), setSerializer.read(decoder), decoder.readBoolean(), hashCodeSerializer.read(decoder));
+            return new CacheKey(hashCodeSerializer.read(decoder), hashCodeSerializer.read(decoder), setSerializer.read(decoder), setSerializer.read(decoder), decoder.readBoolean(), hashCodeSerializer.read(decoder));
         }
 
         @Override
         public void write(Encoder encoder, CacheKey value) throws Exception {
-            delegate.write(encoder, value.filePath);
-            delegate.write(encoder, value.signaturePath);
+            hashCodeSerializer.write(encoder, value.originHash);
+            hashCodeSerializer.write(encoder, value.signatureHash);
             setSerializer.write(encoder, value.trustedKeys);
             setSerializer.write(encoder, value.ignoredKeys);
             encoder.writeBoolean(value.useKeyServers);
@@ -204,8 +208,6 @@ public void write(Encoder encoder, CacheKey value) throws Exception {
 
     private static class CacheEntryBuilder implements SignatureVerificationResultBuilder {
         private final long timestamp;
-        private final HashCode originHash;
-        private final HashCode signatureHash;
 
         private List<String> missingKeys = null;
         private List<PGPPublicKey> trustedKeys = null;
@@ -214,10 +216,8 @@ private static class CacheEntryBuilder implements SignatureVerificationResultBui
         private List<String> ignoredKeys = null;
         private boolean hasNoSignatures = false;
 
-        private CacheEntryBuilder(long timestamp, HashCode originHash, HashCode signatureHash) {
+        private CacheEntryBuilder(long timestamp) {
             this.timestamp = timestamp;
-            this.originHash = originHash;
-            this.signatureHash = signatureHash;
         }
 
         @Override
@@ -265,14 +265,12 @@ public void noSignatures() {
         }
 
         CacheEntry build() {
-            return new CacheEntry(timestamp, originHash, signatureHash, missingKeys, trustedKeys, validKeys, failedKeys, ignoredKeys, hasNoSignatures);
+            return new CacheEntry(timestamp, missingKeys, trustedKeys, validKeys, failedKeys, ignoredKeys, hasNoSignatures);
         }
     }
 
     private static class CacheEntry {
         private final long timestamp;
-        private final HashCode originHash;
-        private final HashCode signatureHash;
         private final List<String> missingKeys;
         private final List<PGPPublicKey> trustedKeys;
         private final List<PGPPublicKey> validKeys;
@@ -280,10 +278,8 @@ private static class CacheEntry {
         private final List<String> ignoredKeys;
         private final boolean hasNoSignatures;
 
-        public CacheEntry(long timestamp, HashCode originHash, HashCode signatureHash, List<String> missingKeys, List<PGPPublicKey> trustedKeys, List<PGPPublicKey> validKeys, List<PGPPublicKey> failedKeys, List<String> ignoredKeys, boolean hasNoSignatures) {
+        public CacheEntry(long timestamp, List<String> missingKeys, List<PGPPublicKey> trustedKeys, List<PGPPublicKey> validKeys, List<PGPPublicKey> failedKeys, List<String> ignoredKeys, boolean hasNoSignatures) {
             this.timestamp = timestamp;
-            this.originHash = originHash;
-            this.signatureHash = signatureHash;
             this.missingKeys = missingKeys;
             this.trustedKeys = trustedKeys;
             this.validKeys = validKeys;
@@ -322,11 +318,6 @@ void applyTo(SignatureVerificationResultBuilder builder) {
                 builder.noSignatures();
             }
         }
-
-        public boolean updated(HashCode originHash, HashCode signatureHash) {
-            return !this.originHash.equals(originHash) ||
-                !this.signatureHash.equals(signatureHash);
-        }
     }
 
     private static class CacheEntrySerializer extends AbstractSerializer<CacheEntry> {
@@ -340,15 +331,13 @@ private CacheEntrySerializer(InterningStringSerializer stringSerializer) {
         @Override
         public CacheEntry read(Decoder decoder) throws Exception {
             long timestamp = decoder.readLong();
-            HashCode originHash = HashCode.fromBytes(decoder.readBinary());
-            HashCode signatureHash = HashCode.fromBytes(decoder.readBinary());
             List<String> missingKeys = readStringKeys(decoder);
             List<PGPPublicKey> trustedKeys = readKeys(decoder);
             List<PGPPublicKey> validKeys = readKeys(decoder);
             List<PGPPublicKey> failedKeys = readKeys(decoder);
             List<String> ignoredKeys = readStringKeys(decoder);
             boolean hasNoSignatures = decoder.readBoolean();
-            return new CacheEntry(timestamp, originHash, signatureHash, missingKeys, trustedKeys, validKeys, failedKeys, ignoredKeys, hasNoSignatures);
+            return new CacheEntry(timestamp, missingKeys, trustedKeys, validKeys, failedKeys, ignoredKeys, hasNoSignatures);
         }
 
         private List<String> readStringKeys(Decoder decoder) throws Exception {
@@ -378,8 +367,6 @@ private List<PGPPublicKey> readKeys(Decoder decoder) throws Exception {
         @Override
         public void write(Encoder encoder, CacheEntry value) throws Exception {
             encoder.writeLong(value.timestamp);
-            encoder.writeBinary(value.originHash.toByteArray());
-            encoder.writeBinary(value.signatureHash.toByteArray());
             writeStringKeys(encoder, value.missingKeys);
             writeKeys(encoder, value.trustedKeys);
             writeKeys(encoder, value.validKeys);
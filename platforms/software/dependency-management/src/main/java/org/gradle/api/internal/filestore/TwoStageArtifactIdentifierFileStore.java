@@ -19,6 +19,7 @@
 import org.gradle.api.Action;
 import org.gradle.internal.component.external.model.ModuleComponentArtifactIdentifier;
 import org.gradle.internal.file.FileAccessTracker;
+import org.gradle.internal.hash.HashCode;
 import org.gradle.internal.resource.local.FileStoreException;
 import org.gradle.internal.resource.local.LocallyAvailableResource;
 
@@ -55,6 +56,11 @@ public LocallyAvailableResource move(ModuleComponentArtifactIdentifier key, File
         return writableStore.move(key, source);
     }
 
+    @Override
+    public LocallyAvailableResource move(ModuleComponentArtifactIdentifier key, File source, HashCode sha1) throws FileStoreException {
+        return writableStore.move(key, source, sha1);
+    }
+
     @Override
     public LocallyAvailableResource add(ModuleComponentArtifactIdentifier key, Action<File> addAction) throws FileStoreException {
         return writableStore.add(key, addAction);
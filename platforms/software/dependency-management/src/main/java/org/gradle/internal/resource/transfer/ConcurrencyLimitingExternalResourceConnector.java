@@ -0,0 +1,81 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.resource.transfer;
+
+import com.google.common.io.CountingInputStream;
+import org.gradle.api.resources.ResourceException;
+import org.gradle.internal.resource.ExternalResource;
+import org.gradle.internal.resource.ExternalResourceName;
+import org.gradle.internal.resource.ReadableContent;
+import org.gradle.internal.resource.metadata.ExternalResourceMetaData;
+import org.jspecify.annotations.Nullable;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * An {@link ExternalResourceConnector} that limits the number of concurrent requests made to each remote host,
+ * using a {@link RemoteHostConnectionLimiter} shared by all repositories of the build.
+ */
+public class ConcurrencyLimitingExternalResourceConnector implements ExternalResourceConnector {
+    private final ExternalResourceConnector delegate;
+    private final RemoteHostConnectionLimiter limiter;
+
+    public ConcurrencyLimitingExternalResourceConnector(ExternalResourceConnector delegate, RemoteHostConnectionLimiter limiter) {
+        this.delegate = delegate;
+        this.limiter = limiter;
+    }
+
+    @Nullable
+    @Override
+    public <T> T withContent(ExternalResourceName location, boolean revalidate, ExternalResource.ContentAndMetadataAction<T> action) throws ResourceException {
+        // The permit is held until the content has been consumed, as this is when the connection is released
+        try (RemoteHostConnectionLimiter.Lease lease = limiter.acquire(location)) {
+            return delegate.withContent(location, revalidate, (inputStream, metaData) -> {
+                CountingInputStream countingStream = new CountingInputStream(inputStream);
+                try {
+                    return action.execute(countingStream, metaData);
+                } finally {
+                    lease.bytesTransferred(countingStream.getCount());
+                }
+            });
+        }
+    }
+
+    @Nullable
+    @Override
+    public ExternalResourceMetaData getMetaData(ExternalResourceName location, boolean revalidate) throws ResourceException {
+        try (RemoteHostConnectionLimiter.Lease ignored = limiter.acquire(location)) {
+            return delegate.getMetaData(location, revalidate);
+        }
+    }
+
+    @Nullable
+    @Override
+    public List<String> list(ExternalResourceName parent) throws ResourceException {
+        try (RemoteHostConnectionLimiter.Lease ignored = limiter.acquire(parent)) {
+            return delegate.list(parent);
+        }
+    }
+
+    @Override
+    public void upload(ReadableContent resource, ExternalResourceName destination) throws IOException {
+        try (RemoteHostConnectionLimiter.Lease ignored = limiter.acquire(destination)) {
+            delegate.upload(resource, destination);
+        }
+    }
+}
@@ -18,6 +18,9 @@
 
 import org.apache.commons.io.IOUtils;
 import org.gradle.api.internal.file.temp.TemporaryFileProvider;
+import org.gradle.internal.hash.HashCode;
+import org.gradle.internal.hash.Hashing;
+import org.gradle.internal.hash.HashingOutputStream;
 import org.gradle.internal.resource.ExternalResource;
 import org.gradle.internal.resource.ExternalResourceName;
 import org.gradle.internal.resource.metadata.ExternalResourceMetaData;
@@ -34,6 +37,7 @@
 public class DownloadAction implements ExternalResource.ContentAndMetadataAction<Object> {
     private File destination;
     private ExternalResourceMetaData metaData;
+    private HashCode sha1;
     private final ExternalResourceName source;
     private final TemporaryFileProvider temporaryFileProvider;
     @Nullable
@@ -55,8 +59,10 @@ public Object execute(InputStream inputStream, ExternalResourceMetaData metaData
         if (destination.getParentFile() != null) {
             GFileUtils.mkdirs(destination.getParentFile());
         }
-        try (FileOutputStream outputStream = new FileOutputStream(destination)) {
+        // Hash the content while writing it, so that it does not need to be read again to find its location in the file store
+        try (HashingOutputStream outputStream = new HashingOutputStream(Hashing.sha1(), new FileOutputStream(destination))) {
             IOUtils.copyLarge(inputStream, outputStream);
+            sha1 = outputStream.hash();
         }
         return null;
     }
@@ -66,6 +72,14 @@ public File getDestination() {
         return destination;
     }
 
+    /**
+     * The SHA-1 checksum of the downloaded content.
+     */
+    @NonNull
+    public HashCode getSha1() {
+        return sha1;
+    }
+
     @Nullable
     public ExternalResourceMetaData getMetaData() {
         return metaData;
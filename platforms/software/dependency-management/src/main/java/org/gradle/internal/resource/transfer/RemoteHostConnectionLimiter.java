@@ -0,0 +1,190 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.resource.transfer;
+
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.gradle.internal.UncheckedException;
+import org.gradle.internal.resource.ExternalResourceName;
+import org.gradle.internal.service.scopes.Scope;
+import org.gradle.internal.service.scopes.ServiceScope;
+import org.gradle.internal.time.Time;
+import org.gradle.internal.time.TimeFormatting;
+import org.gradle.internal.time.Timer;
+import org.jspecify.annotations.Nullable;
+
+import java.io.Closeable;
+import java.net.URI;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limits the number of concurrent requests made to each remote host, across all repositories of a build,
+ * and collects transfer statistics for each host.
+ * <p>
+ * The HTTP client already limits connections per route, but each repository has its own client, so a build declaring
+ * many repositories backed by the same host could otherwise open many times that number of connections.
+ */
+@ServiceScope(Scope.Build.class)
+public class RemoteHostConnectionLimiter implements Closeable {
+    private static final Logger LOGGER = Logging.getLogger(RemoteHostConnectionLimiter.class);
+    public static final String MAX_CONCURRENT_REQUESTS_PER_HOST = "org.gradle.internal.repository.max.concurrent.requests";
+    private static final int DEFAULT_MAX_CONCURRENT_REQUESTS_PER_HOST = 20;
+
+    private final int maxConcurrentRequests;
+    private final Map<String, Host> hosts = new ConcurrentHashMap<>();
+    // Requests made while already holding a permit for a host (for example from within a content action) do not take another one, to avoid deadlocks
+    private final ThreadLocal<Map<String, Integer>> heldPermits = ThreadLocal.withInitial(HashMap::new);
+
+    public RemoteHostConnectionLimiter() {
+        this(Integer.getInteger(MAX_CONCURRENT_REQUESTS_PER_HOST, DEFAULT_MAX_CONCURRENT_REQUESTS_PER_HOST));
+    }
+
+    public RemoteHostConnectionLimiter(int maxConcurrentRequests) {
+        this.maxConcurrentRequests = maxConcurrentRequests;
+    }
+
+    /**
+     * Acquires a permit to make a request to the host of the given location, blocking until one is available.
+     * The returned lease must be closed once the request, including the consumption of its content, is complete.
+     */
+    public Lease acquire(ExternalResourceName location) {
+        String key = hostOf(location.getUri());
+        Host host = hosts.computeIfAbsent(key, k -> new Host(maxConcurrentRequests));
+        Map<String, Integer> held = heldPermits.get();
+        int depth = held.getOrDefault(key, 0);
+        if (depth == 0 && host.permits != null) {
+            try {
+                host.permits.acquire();
+            } catch (InterruptedException e) {
+                throw UncheckedException.throwAsUncheckedException(e);
+            }
+        }
+        held.put(key, depth + 1);
+        if (depth == 0) {
+            host.requestStarted();
+        }
+        return new Lease(key, host, depth == 0);
+    }
+
+    @Override
+    public void close() {
+        for (Map.Entry<String, Host> entry : hosts.entrySet()) {
+            Host host = entry.getValue();
+            long requests = host.requests.get();
+            if (requests == 0) {
+                continue;
+            }
+            long bytes = host.bytes.get();
+            long millis = host.getActiveMillis();
+            LOGGER.info("Made {} requests to {}, transferring {} bytes in {} ({}).",
+                requests, entry.getKey(), bytes, TimeFormatting.formatDurationVerbose(millis), throughput(bytes, millis));
+        }
+        hosts.clear();
+    }
+
+    private static String throughput(long bytes, long millis) {
+        if (millis == 0) {
+            return "n/a";
+        }
+        return String.format(Locale.ROOT, "%.1f KiB/s", bytes * 1000d / 1024d / millis);
+    }
+
+    private static String hostOf(URI uri) {
+        if (uri.getAuthority() == null) {
+            return uri.getScheme() + ":";
+        }
+        return uri.getScheme() + "://" + uri.getAuthority();
+    }
+
+    private static class Host {
+        private final Semaphore permits;
+        private final AtomicLong requests = new AtomicLong();
+        private final AtomicLong bytes = new AtomicLong();
+        // Wall clock time during which at least one request to the host was in progress.
+        // Summing the duration of each request instead would count concurrent requests several times.
+        private int activeRequests;
+        @Nullable
+        private Timer activeTimer;
+        private long activeMillis;
+
+        Host(int maxConcurrentRequests) {
+            this.permits = maxConcurrentRequests > 0 ? new Semaphore(maxConcurrentRequests, true) : null;
+        }
+
+        synchronized void requestStarted() {
+            if (activeRequests++ == 0) {
+                activeTimer = Time.startTimer();
+            }
+        }
+
+        synchronized void requestFinished() {
+            if (--activeRequests == 0 && activeTimer != null) {
+                activeMillis += activeTimer.getElapsedMillis();
+                activeTimer = null;
+            }
+        }
+
+        synchronized long getActiveMillis() {
+            Timer timer = activeTimer;
+            return timer == null ? activeMillis : activeMillis + timer.getElapsedMillis();
+        }
+    }
+
+    /**
+     * A permit to make a request to a remote host.
+     */
+    public class Lease implements AutoCloseable {
+        private final String key;
+        private final Host host;
+        private final boolean ownsPermit;
+        private long bytes;
+
+        private Lease(String key, Host host, boolean ownsPermit) {
+            this.key = key;
+            this.host = host;
+            this.ownsPermit = ownsPermit;
+        }
+
+        public void bytesTransferred(long count) {
+            bytes += count;
+        }
+
+        @Override
+        public void close() {
+            Map<String, Integer> held = heldPermits.get();
+            int depth = held.getOrDefault(key, 1) - 1;
+            if (depth == 0) {
+                held.remove(key);
+            } else {
+                held.put(key, depth);
+            }
+            host.requests.incrementAndGet();
+            host.bytes.addAndGet(bytes);
+            if (ownsPermit) {
+                host.requestFinished();
+                if (host.permits != null) {
+                    host.permits.release();
+                }
+            }
+        }
+    }
+}
@@ -19,8 +19,11 @@ package org.gradle.api.internal.artifacts.ivyservice.ivyresolve
 import org.gradle.api.artifacts.component.ModuleComponentIdentifier
 import org.gradle.api.artifacts.component.ModuleComponentSelector
 import org.gradle.api.internal.artifacts.ComponentMetadataProcessor
+import org.gradle.api.internal.artifacts.DefaultModuleIdentifier
 import org.gradle.api.internal.artifacts.DependencyManagementTestUtil
 import org.gradle.api.internal.artifacts.ivyservice.CacheExpirationControl
+import org.gradle.api.internal.artifacts.ivyservice.ivyresolve.strategy.DefaultVersionComparator
+import org.gradle.api.internal.artifacts.ivyservice.ivyresolve.strategy.VersionParser
 import org.gradle.api.internal.artifacts.ivyservice.modulecache.AbstractModuleMetadataCache
 import org.gradle.api.internal.artifacts.ivyservice.modulecache.ModuleMetadataCache
 import org.gradle.api.internal.artifacts.ivyservice.modulecache.ModuleRepositoryCaches
@@ -58,7 +61,7 @@ class CachingModuleComponentRepositoryTest extends Specification {
         getLocalAccess() >> realLocalAccess
         getRemoteAccess() >> realRemoteAccess
     }
-    def moduleResolutionCache = Stub(AbstractModuleVersionsCache)
+    def moduleResolutionCache = Mock(AbstractModuleVersionsCache)
     def moduleDescriptorCache = Mock(AbstractModuleMetadataCache)
     def moduleArtifactsCache = Mock(AbstractArtifactsCache)
     def artifactAtRepositoryCache = Mock(ModuleArtifactCache)
@@ -67,7 +70,7 @@ class CachingModuleComponentRepositoryTest extends Specification {
     def listener = Stub(ChangingValueDependencyResolutionListener)
     def caches = new ModuleRepositoryCaches(moduleResolutionCache, moduleDescriptorCache, moduleArtifactsCache, artifactAtRepositoryCache)
     def resolveStateFactory = DependencyManagementTestUtil.modelGraphResolveFactory()
-    def repo = new CachingModuleComponentRepository(realRepo, caches, resolveStateFactory, cacheExpirationControl, Stub(BuildCommencedTimeProvider), metadataProcessor, listener)
+    def repo = new CachingModuleComponentRepository(realRepo, caches, resolveStateFactory, cacheExpirationControl, Stub(BuildCommencedTimeProvider), metadataProcessor, new DefaultVersionComparator(), new VersionParser(), listener)
 
     def "artifact last modified date is cached - lastModified = #lastModified"() {
         given:
@@ -114,6 +117,23 @@ class CachingModuleComponentRepositoryTest extends Specification {
         0 * _
     }
 
+    def "caches remote module version listing latest first"() {
+        def moduleId = DefaultModuleIdentifier.newId("group", "name")
+        def dependency = Stub(ModuleComponentSelector) {
+            getModuleIdentifier() >> moduleId
+        }
+        def result = new DefaultBuildableModuleVersionListingResolveResult()
+
+        when:
+        repo.remoteAccess.listModuleVersions(dependency, DefaultComponentOverrideMetadata.EMPTY, result)
+
+        then:
+        1 * realRemoteAccess.listModuleVersions(dependency, _, result) >> {
+            result.listed(['1.2', '1.10', '1.0-rc-1', '1.0', '1.9'])
+        }
+        1 * moduleResolutionCache.cacheModuleVersionList(realRepo, moduleId, { it as List == ['1.10', '1.9', '1.2', '1.0', '1.0-rc-1'] })
+    }
+
     def "does not use cache when component metadata can be determined locally"() {
         def componentId = Mock(ModuleComponentIdentifier)
         def prescribedMetaData = Mock(ComponentOverrideMetadata)
@@ -139,6 +139,26 @@ class DefaultVersionedComponentChooserTest extends Specification {
 
     }
 
+    def "reports versions above the upper bound of a range as not matched"() {
+        given:
+        def a = component('1.2')
+        def b = component('1.3')
+        def c = component('2.0')
+        def d = component('3.0')
+        def selectedComponentResult = Mock(ComponentSelectionContext)
+
+        when:
+        chooser.selectNewestMatchingComponent([c, a, d, b], selectedComponentResult, versionSelectorScheme.parseSelector("[1.0,2.0)"), null, consumerAttributes)
+
+        then:
+        _ * componentSelectionRules.rules >> []
+        1 * selectedComponentResult.getContentFilter() >> null
+        1 * selectedComponentResult.notMatched(d.id, _)
+        1 * selectedComponentResult.notMatched(c.id, _)
+        1 * selectedComponentResult.matches(b.id)
+        0 * _
+    }
+
     def "chooses newest matching version requiring metadata"() {
         given:
         def a = component('1.2')
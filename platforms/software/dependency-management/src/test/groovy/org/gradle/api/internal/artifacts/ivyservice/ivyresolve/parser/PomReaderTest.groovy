@@ -19,6 +19,8 @@ import org.gradle.api.internal.artifacts.DefaultModuleIdentifier
 import org.gradle.api.internal.artifacts.DefaultModuleVersionIdentifier
 import org.gradle.api.internal.artifacts.ImmutableModuleIdentifierFactory
 import org.gradle.api.internal.artifacts.ivyservice.ivyresolve.parser.data.MavenDependencyKey
+import org.gradle.api.internal.file.TestFiles
+import org.gradle.internal.resource.local.LocalFileStandInExternalResource
 import org.xml.sax.SAXParseException
 import spock.lang.Issue
 
@@ -1144,4 +1146,49 @@ class PomReaderTest extends AbstractPomReaderTest {
         then:
         pomReader.dependencies[keyGroupTwo].optional
     }
+
+    def "resolves HTML entities declared by the Maven entities DTD"() {
+        when:
+        pomFile << """
+<project>
+    <modelVersion>4.0.0</modelVersion>
+    <groupId>group-one</groupId>
+    <artifactId>artifact-one</artifactId>
+    <version>version-one</version>
+    <properties>
+        <copyright>&copy; Someone&nbsp;Else</copyright>
+        <cdata><![CDATA[<some>&value;]]></cdata>
+    </properties>
+</project>
+"""
+        pomReader = new PomReader(locallyAvailableExternalResource, moduleIdentifierFactory)
+
+        then:
+        pomReader.properties['copyright'] == '\u00a9 Someone\u00a0Else'
+        pomReader.properties['cdata'] == '<some>&value;'
+    }
+
+    def "interns coordinates of parsed POMs"() {
+        given:
+        def otherPomFile = tmpDir.file('other-pom.xml')
+        [pomFile, otherPomFile].each {
+            it << """
+<project>
+    <modelVersion>4.0.0</modelVersion>
+    <groupId>group-one</groupId>
+    <artifactId>artifact-one</artifactId>
+    <version>version-one</version>
+</project>
+"""
+        }
+
+        when:
+        pomReader = new PomReader(locallyAvailableExternalResource, moduleIdentifierFactory)
+        def otherPomReader = new PomReader(new LocalFileStandInExternalResource(otherPomFile, TestFiles.fileSystem()), moduleIdentifierFactory)
+
+        then:
+        pomReader.groupId.is(otherPomReader.groupId)
+        pomReader.artifactId.is(otherPomReader.artifactId)
+        pomReader.version.is(otherPomReader.version)
+    }
 }
@@ -0,0 +1,327 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.artifacts.verification.signatures
+
+import org.bouncycastle.bcpg.PublicKeyAlgorithmTags
+import org.bouncycastle.openpgp.PGPPublicKey
+import org.bouncycastle.openpgp.operator.jcajce.JcaPGPKeyConverter
+import org.gradle.cache.CacheBuilder
+import org.gradle.cache.CacheDecorator
+import org.gradle.cache.IndexedCache
+import org.gradle.cache.IndexedCacheParameters
+import org.gradle.cache.PersistentCache
+import org.gradle.cache.internal.InMemoryCacheDecoratorFactory
+import org.gradle.cache.scopes.BuildScopedCacheBuilderFactory
+import org.gradle.internal.hash.FileHasher
+import org.gradle.internal.hash.HashCode
+import org.gradle.internal.hash.Hashing
+import org.gradle.internal.serialize.InputStreamBackedDecoder
+import org.gradle.internal.serialize.OutputStreamBackedEncoder
+import org.gradle.internal.serialize.Serializer
+import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
+import org.gradle.util.internal.BuildCommencedTimeProvider
+import org.junit.Rule
+import spock.lang.Specification
+
+import java.security.KeyPairGenerator
+import java.util.function.Function
+
+import static org.gradle.api.internal.artifacts.verification.signatures.CrossBuildCachingKeyService.MISSING_KEY_TIMEOUT
+
+class CrossBuildSignatureVerificationServiceTest extends Specification {
+    @Rule
+    final TestNameTestDirectoryProvider tmpDir = new TestNameTestDirectoryProvider(getClass())
+
+    def delegate = Mock(SignatureVerificationService)
+    def fileHasher = Stub(FileHasher) {
+        hash(_ as File) >> { File file -> Hashing.hashBytes(file.bytes) }
+    }
+    long currentTime = 1000
+    def timeProvider = Stub(BuildCommencedTimeProvider) {
+        getCurrentTime() >> { currentTime }
+    }
+    def cacheBuilderFactory = Stub(BuildScopedCacheBuilderFactory)
+    Map<String, ?> cacheProperties
+    SerializingIndexedCache indexedCache
+
+    def origin = tmpDir.file("repo/foo-1.0.jar").createFile() << "foo"
+    def signature = tmpDir.file("repo/foo-1.0.jar.asc").createFile() << "signature of foo"
+    def trustedKey = generateKey()
+    def validKey = generateKey()
+    def failedKey = generateKey()
+
+    def setup() {
+        def cacheBuilder
+        cacheBuilder = Stub(CacheBuilder) {
+            withDisplayName(_) >> { cacheBuilder }
+            withProperties(_) >> { Map<String, ?> properties ->
+                cacheProperties = properties
+                cacheBuilder
+            }
+            withInitialLockMode(_) >> { cacheBuilder }
+            open() >> Stub(PersistentCache) {
+                createIndexedCache(_ as IndexedCacheParameters) >> { IndexedCacheParameters parameters ->
+                    // The same entries are seen by every service, like a cache on disk
+                    if (indexedCache == null) {
+                        indexedCache = new SerializingIndexedCache(parameters.keySerializer, parameters.valueSerializer)
+                    }
+                    indexedCache
+                }
+            }
+        }
+        cacheBuilderFactory.createCacheBuilder("signature-verification") >> cacheBuilder
+    }
+
+    def "opens the cache with the version of its format so that caches in another format are discarded"() {
+        when:
+        service()
+
+        then:
+        cacheProperties == [formatVersion: CrossBuildSignatureVerificationService.CACHE_FORMAT_VERSION]
+    }
+
+    def "reads back a cached verification result"() {
+        def service = service()
+
+        when:
+        def first = verify(service, origin, signature, ["A"] as Set, ["B"] as Set)
+
+        then:
+        1 * delegate.verify(origin, signature, ["A"] as Set, ["B"] as Set, _) >> { File file, File sig, Set<String> trusted, Set<String> ignored, SignatureVerificationResultBuilder builder ->
+            builder.verified(trustedKey, true)
+            builder.verified(validKey, false)
+            builder.failed(failedKey)
+            builder.ignored("B")
+            builder.noSignatures()
+        }
+
+        when:
+        def second = verify(service, origin, signature, ["A"] as Set, ["B"] as Set)
+
+        then:
+        0 * delegate.verify(*_)
+        second == first
+        second == [
+            "verified ${fingerprintOf(trustedKey)} trusted",
+            "verified ${fingerprintOf(validKey)}",
+            "failed ${fingerprintOf(failedKey)}",
+            "ignored B",
+            "no signatures"
+        ]
+        indexedCache.entries.size() == 1
+    }
+
+    def "reuses the result for a copy of the artifact and signature at another location"() {
+        def service = service()
+        def originCopy = tmpDir.file("other-repo/foo-1.0.jar").createFile() << "foo"
+        def signatureCopy = tmpDir.file("other-repo/foo-1.0.jar.asc").createFile() << "signature of foo"
+
+        when:
+        verify(service, origin, signature)
+
+        then:
+        1 * delegate.verify(origin, signature, _, _, _) >> { args -> args[4].verified(trustedKey, true) }
+
+        when:
+        def result = verify(service, originCopy, signatureCopy)
+
+        then:
+        0 * delegate.verify(*_)
+        result == ["verified ${fingerprintOf(trustedKey)} trusted"]
+    }
+
+    def "verifies again when the artifact, the signature, the keys or the keyring change"() {
+        def service = service()
+        verify(service, origin, signature)
+
+        when:
+        origin << " changed"
+        verify(service, origin, signature)
+
+        then:
+        1 * delegate.verify(*_)
+
+        when:
+        signature << " changed"
+        verify(service, origin, signature)
+
+        then:
+        1 * delegate.verify(*_)
+
+        when:
+        verify(service, origin, signature, ["A"] as Set, [] as Set)
+        verify(service, origin, signature, [] as Set, ["A"] as Set)
+
+        then:
+        2 * delegate.verify(*_)
+
+        when:
+        verify(service(Hashing.hashString("other keyring")), origin, signature)
+
+        then:
+        1 * delegate.verify(*_)
+
+        when:
+        verify(service, origin, signature)
+        verify(service, origin, signature, ["A"] as Set, [] as Set)
+
+        then:
+        0 * delegate.verify(*_)
+    }
+
+    def "verifies again when keys were missing more than a day ago"() {
+        def service = service()
+
+        when:
+        verify(service, origin, signature)
+
+        then:
+        1 * delegate.verify(*_) >> { args -> args[4].missingKey("ABCD") }
+
+        when:
+        currentTime += MISSING_KEY_TIMEOUT
+        def cached = verify(service, origin, signature)
+
+        then:
+        0 * delegate.verify(*_)
+        cached == ["missing ABCD"]
+
+        when:
+        currentTime += 1
+        def refreshed = verify(service, origin, signature)
+
+        then:
+        1 * delegate.verify(*_) >> { args -> args[4].verified(trustedKey, true) }
+        refreshed == ["verified ${fingerprintOf(trustedKey)} trusted"]
+    }
+
+    def "verifies again when keys were missing and keys are refreshed"() {
+        def service = service(Hashing.hashString("keyring"), true)
+
+        when:
+        verify(service, origin, signature)
+        verify(service, origin, signature)
+
+        then:
+        2 * delegate.verify(*_) >> { args -> args[4].missingKey("ABCD") }
+    }
+
+    private CrossBuildSignatureVerificationService service(HashCode keyringFileHash = Hashing.hashString("keyring"), boolean refreshKeys = false) {
+        def decoratorFactory = Stub(InMemoryCacheDecoratorFactory) {
+            decorator(_, _) >> Stub(CacheDecorator)
+        }
+        return new CrossBuildSignatureVerificationService(delegate, fileHasher, cacheBuilderFactory, decoratorFactory, timeProvider, refreshKeys, true, keyringFileHash)
+    }
+
+    private static List<String> verify(SignatureVerificationService service, File origin, File signature, Set<String> trustedKeys = [] as Set, Set<String> ignoredKeys = [] as Set) {
+        def result = new RecordingResultBuilder()
+        service.verify(origin, signature, trustedKeys, ignoredKeys, result)
+        return result.events
+    }
+
+    private static PGPPublicKey generateKey() {
+        def generator = KeyPairGenerator.getInstance("RSA")
+        generator.initialize(1024)
+        return new JcaPGPKeyConverter().getPGPPublicKey(PublicKeyAlgorithmTags.RSA_GENERAL, generator.generateKeyPair().public, new Date())
+    }
+
+    private static String fingerprintOf(PGPPublicKey key) {
+        return HashCode.fromBytes(key.fingerprint).toString()
+    }
+
+    private static class RecordingResultBuilder implements SignatureVerificationResultBuilder {
+        final List<String> events = []
+
+        @Override
+        void missingKey(String keyId) {
+            events << "missing $keyId".toString()
+        }
+
+        @Override
+        void verified(PGPPublicKey key, boolean trusted) {
+            events << "verified ${fingerprintOf(key)}${trusted ? " trusted" : ""}".toString()
+        }
+
+        @Override
+        void failed(PGPPublicKey pgpPublicKey) {
+            events << "failed ${fingerprintOf(pgpPublicKey)}".toString()
+        }
+
+        @Override
+        void ignored(String keyId) {
+            events << "ignored $keyId".toString()
+        }
+
+        @Override
+        void noSignatures() {
+            events << "no signatures"
+        }
+    }
+
+    /**
+     * Stores keys and entries in their serialized form, so that every lookup goes through the serializers of the service.
+     */
+    private static class SerializingIndexedCache<K, V> implements IndexedCache<K, V> {
+        private final Serializer<K> keySerializer
+        private final Serializer<V> valueSerializer
+        final Map<String, byte[]> entries = [:]
+
+        SerializingIndexedCache(Serializer<K> keySerializer, Serializer<V> valueSerializer) {
+            this.keySerializer = keySerializer
+            this.valueSerializer = valueSerializer
+        }
+
+        @Override
+        V getIfPresent(K key) {
+            byte[] value = entries[keyOf(key)]
+            return value == null ? null : read(valueSerializer, value)
+        }
+
+        @Override
+        V get(K key, Function<? super K, ? extends V> producer) {
+            throw new UnsupportedOperationException()
+        }
+
+        @Override
+        void put(K key, V value) {
+            entries[keyOf(key)] = write(valueSerializer, value)
+        }
+
+        @Override
+        void remove(K key) {
+            entries.remove(keyOf(key))
+        }
+
+        private String keyOf(K key) {
+            byte[] serialized = write(keySerializer, key)
+            assert read(keySerializer, serialized) == key
+            return Base64.encoder.encodeToString(serialized)
+        }
+
+        private static <T> byte[] write(Serializer<T> serializer, T value) {
+            def bytes = new ByteArrayOutputStream()
+            def encoder = new OutputStreamBackedEncoder(bytes)
+            serializer.write(encoder, value)
+            encoder.flush()
+            return bytes.toByteArray()
+        }
+
+        private static <T> T read(Serializer<T> serializer, byte[] bytes) {
+            return serializer.read(new InputStreamBackedDecoder(new ByteArrayInputStream(bytes)))
+        }
+    }
+}
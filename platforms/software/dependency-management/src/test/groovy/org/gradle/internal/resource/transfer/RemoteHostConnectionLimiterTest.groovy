@@ -0,0 +1,73 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.resource.transfer
+
+import org.gradle.internal.resource.ExternalResourceName
+import org.gradle.test.fixtures.concurrent.ConcurrentSpec
+
+class RemoteHostConnectionLimiterTest extends ConcurrentSpec {
+    final limiter = new RemoteHostConnectionLimiter(1)
+
+    def cleanup() {
+        limiter.close()
+    }
+
+    def "blocks requests to a host until a permit is released"() {
+        def first = limiter.acquire(new ExternalResourceName(new URI("https://repo.example.com/a.jar")))
+
+        when:
+        async {
+            start {
+                instant.started
+                limiter.acquire(new ExternalResourceName(new URI("https://repo.example.com/b.jar"))).withCloseable {
+                    instant.acquired
+                }
+            }
+            thread.blockUntil.started
+            instant.released
+            first.close()
+        }
+
+        then:
+        instant.acquired > instant.released
+    }
+
+    def "requests to different hosts do not share permits"() {
+        when:
+        def first = limiter.acquire(new ExternalResourceName(new URI("https://repo.example.com/a.jar")))
+        def second = limiter.acquire(new ExternalResourceName(new URI("https://other.example.com/a.jar")))
+
+        then:
+        noExceptionThrown()
+
+        cleanup:
+        second?.close()
+        first?.close()
+    }
+
+    def "nested requests to the same host do not take another permit"() {
+        when:
+        def outer = limiter.acquire(new ExternalResourceName(new URI("https://repo.example.com/a.jar")))
+        def inner = limiter.acquire(new ExternalResourceName(new URI("https://repo.example.com/a.jar.sha1")))
+        inner.close()
+        outer.close()
+        limiter.acquire(new ExternalResourceName(new URI("https://repo.example.com/b.jar"))).close()
+
+        then:
+        noExceptionThrown()
+    }
+}
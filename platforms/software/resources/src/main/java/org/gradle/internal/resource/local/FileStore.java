@@ -16,6 +16,7 @@
 package org.gradle.internal.resource.local;
 
 import org.gradle.api.Action;
+import org.gradle.internal.hash.HashCode;
 
 import java.io.File;
 
@@ -30,6 +31,13 @@
      */
     LocallyAvailableResource move(K key, File source) throws FileStoreException;
 
+    /**
+     * Moves the given file into the store, given its already known SHA-1 checksum. Stores that need the checksum of the file can use it instead of reading the file again.
+     */
+    default LocallyAvailableResource move(K key, File source, HashCode sha1) throws FileStoreException {
+        return move(key, source);
+    }
+
     /**
      * Adds an entry to the store, using the given action to produce the file.
      *
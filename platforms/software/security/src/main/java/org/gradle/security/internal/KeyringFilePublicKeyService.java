@@ -36,13 +36,18 @@
 public class KeyringFilePublicKeyService implements PublicKeyService {
     private final static Logger LOGGER = Logging.getLogger(KeyringFilePublicKeyService.class);
     private final File keyRingFile;
-    private LoadedKeys keys;
+    private volatile LoadedKeys keys;
 
     public KeyringFilePublicKeyService(File keyRingFile) {
         this.keyRingFile = keyRingFile;
     }
 
     private LoadedKeys load() {
+        // Lookups happen concurrently while verifying artifacts, so only synchronize until the keys are loaded
+        LoadedKeys loaded = keys;
+        if (loaded != null) {
+            return loaded;
+        }
         synchronized (this) {
             if (keys == null) {
                 try {
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.tasks.testing.worker;
+
+import org.gradle.api.internal.tasks.testing.DefaultTestOutputEvent;
+import org.gradle.api.internal.tasks.testing.TestCompleteEvent;
+import org.gradle.api.internal.tasks.testing.TestDescriptorInternal;
+import org.gradle.api.internal.tasks.testing.TestResultProcessor;
+import org.gradle.api.internal.tasks.testing.TestStartEvent;
+import org.gradle.api.tasks.testing.TestFailure;
+import org.gradle.api.tasks.testing.TestMetadataEvent;
+import org.gradle.api.tasks.testing.TestOutputEvent;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Merges consecutive output events of the same test and destination into a single event, so chatty tests send
+ * far fewer messages from the test worker to the build process.
+ * <p>
+ * Pending output is flushed before any other event is forwarded, when it grows larger than {@link #MAX_PENDING_OUTPUT_CHARS},
+ * and whenever {@link #flush()} is called. The merged event has the log time of its first output event.
+ * <p>
+ * Unlike most {@link TestResultProcessor}s, this one is thread-safe, as output is produced by any thread of the tests.
+ */
+public class BatchingTestResultProcessor implements TestResultProcessor {
+    static final int MAX_PENDING_OUTPUT_CHARS = 8 * 1024;
+
+    private final TestResultProcessor delegate;
+    private final StringBuilder pendingOutput = new StringBuilder();
+    @Nullable
+    private Object pendingTestId;
+    @Nullable
+    private TestOutputEvent firstPendingEvent;
+    private int pendingEvents;
+    private long outputEvents;
+    private long outputMessages;
+
+    public BatchingTestResultProcessor(TestResultProcessor delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public synchronized void started(TestDescriptorInternal test, TestStartEvent event) {
+        flushPendingOutput();
+        delegate.started(test, event);
+    }
+
+    @Override
+    public synchronized void completed(Object testId, TestCompleteEvent event) {
+        flushPendingOutput();
+        delegate.completed(testId, event);
+    }
+
+    @Override
+    public synchronized void output(Object testId, TestOutputEvent event) {
+        outputEvents++;
+        if (firstPendingEvent != null && (!testId.equals(pendingTestId) || firstPendingEvent.getDestination() != event.getDestination())) {
+            flushPendingOutput();
+        }
+        if (firstPendingEvent == null) {
+            pendingTestId = testId;
+            firstPendingEvent = event;
+        }
+        pendingEvents++;
+        pendingOutput.append(event.getMessage());
+        if (pendingOutput.length() >= MAX_PENDING_OUTPUT_CHARS) {
+            flushPendingOutput();
+        }
+    }
+
+    @Override
+    public synchronized void failure(Object testId, TestFailure result) {
+        flushPendingOutput();
+        delegate.failure(testId, result);
+    }
+
+    @Override
+    public synchronized void published(Object testId, TestMetadataEvent keyValueEvent) {
+        flushPendingOutput();
+        delegate.published(testId, keyValueEvent);
+    }
+
+    /**
+     * Forwards any pending output.
+     */
+    public synchronized void flush() {
+        flushPendingOutput();
+    }
+
+    /**
+     * The number of output events received from the tests.
+     */
+    public synchronized long getOutputEvents() {
+        return outputEvents;
+    }
+
+    /**
+     * The number of output events forwarded after merging.
+     */
+    public synchronized long getOutputMessages() {
+        return outputMessages;
+    }
+
+    private void flushPendingOutput() {
+        Object testId = pendingTestId;
+        TestOutputEvent firstEvent = firstPendingEvent;
+        if (testId == null || firstEvent == null) {
+            return;
+        }
+        TestOutputEvent event = pendingEvents == 1
+            ? firstEvent
+            : new DefaultTestOutputEvent(firstEvent.getLogTime(), firstEvent.getDestination(), pendingOutput.toString());
+        pendingTestId = null;
+        firstPendingEvent = null;
+        pendingEvents = 0;
+        pendingOutput.setLength(0);
+        outputMessages++;
+        delegate.output(testId, event);
+    }
+}
@@ -27,6 +27,7 @@
 import org.gradle.internal.actor.internal.DefaultActorFactory;
 import org.gradle.internal.concurrent.DefaultExecutorFactory;
 import org.gradle.internal.concurrent.ExecutorFactory;
+import org.gradle.internal.concurrent.ManagedScheduledExecutor;
 import org.gradle.internal.concurrent.Stoppable;
 import org.gradle.internal.dispatch.ContextClassLoaderProxy;
 import org.gradle.internal.id.CompositeIdGenerator;
@@ -47,6 +48,7 @@
 import java.security.AccessControlException;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Processes tests in a remote process with the given {@link TestDefinitionProcessor} until a stop command is received.  Requires that
@@ -67,11 +69,14 @@ private enum State {INITIALIZING, STARTED, STOPPED}
     public static final String WORKER_ID_SYS_PROPERTY = "org.gradle.test.worker";
     public static final String WORKER_TMPDIR_SYS_PROPERTY = "org.gradle.internal.worker.tmpdir";
     private static final String WORK_THREAD_NAME = "Test worker";
+    private static final long OUTPUT_FLUSH_INTERVAL_MILLIS = 100;
 
     private final WorkerTestDefinitionProcessorFactory<D> factory;
+    private final boolean batchOutputEvents;
     private final BlockingQueue<Runnable> runQueue = new ArrayBlockingQueue<Runnable>(1);
     private TestDefinitionProcessor<D> processor;
     private TestResultProcessor resultProcessor;
+    private BatchingTestResultProcessor batchingResultProcessor;
 
     /**
      * Note that the state object is not synchronized and not thread-safe.  Any modifications to the
@@ -81,7 +86,15 @@ private enum State {INITIALIZING, STARTED, STOPPED}
     private volatile State state = State.INITIALIZING;
 
     public TestWorker(WorkerTestDefinitionProcessorFactory<D> factory) {
+        this(factory, false);
+    }
+
+    /**
+     * @param batchOutputEvents whether to merge consecutive output events of a test before sending them to the build process
+     */
+    public TestWorker(WorkerTestDefinitionProcessorFactory<D> factory, boolean batchOutputEvents) {
         this.factory = factory;
+        this.batchOutputEvents = batchOutputEvents;
     }
 
     @Override
@@ -107,6 +120,9 @@ public void execute(final WorkerProcessContext workerProcessContext) {
             }
         } finally {
             LOGGER.info("{} finished executing tests.", workerProcessContext.getDisplayName());
+            if (batchingResultProcessor != null) {
+                LOGGER.debug("{} sent {} output events as {} messages.", workerProcessContext.getDisplayName(), batchingResultProcessor.getOutputEvents(), batchingResultProcessor.getOutputMessages());
+            }
 
             // In the event that the main thread exits with an uncaught exception, stop processing
             // and clear out the run queue to unblock any running communication threads
@@ -147,7 +163,16 @@ private void startReceivingTests(WorkerProcessContext workerProcessContext, Serv
 
         ObjectConnection serverConnection = workerProcessContext.getServerConnection();
         serverConnection.useParameterSerializers(TestEventSerializer.create());
-        this.resultProcessor = serverConnection.addOutgoing(TestResultProcessor.class);
+        TestResultProcessor outgoingResultProcessor = serverConnection.addOutgoing(TestResultProcessor.class);
+        if (batchOutputEvents) {
+            batchingResultProcessor = new BatchingTestResultProcessor(outgoingResultProcessor);
+            // Flush regularly, so output of slow tests still shows up while they run
+            ManagedScheduledExecutor outputFlusher = testServices.get(ExecutorFactory.class).createScheduled("Test output flusher", 1);
+            outputFlusher.scheduleWithFixedDelay(batchingResultProcessor::flush, OUTPUT_FLUSH_INTERVAL_MILLIS, OUTPUT_FLUSH_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+            this.resultProcessor = batchingResultProcessor;
+        } else {
+            this.resultProcessor = outgoingResultProcessor;
+        }
         serverConnection.addIncoming(RemoteTestDefinitionProcessor.class, this);
         serverConnection.connect();
     }
@@ -194,6 +219,9 @@ public void run() {
                 try {
                     processor.stop();
                 } finally {
+                    if (batchingResultProcessor != null) {
+                        batchingResultProcessor.flush();
+                    }
                     state = State.STOPPED;
                     // Clean the interrupted status
                     // because some test class processors do work here, e.g. JUnitPlatform
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.tasks.testing.worker
+
+import org.gradle.api.internal.tasks.testing.DefaultTestOutputEvent
+import org.gradle.api.internal.tasks.testing.TestCompleteEvent
+import org.gradle.api.internal.tasks.testing.TestResultProcessor
+import spock.lang.Specification
+
+import static org.gradle.api.tasks.testing.TestOutputEvent.Destination.StdErr
+import static org.gradle.api.tasks.testing.TestOutputEvent.Destination.StdOut
+
+class BatchingTestResultProcessorTest extends Specification {
+    def delegate = Mock(TestResultProcessor)
+    def processor = new BatchingTestResultProcessor(delegate)
+
+    def "merges consecutive output of the same test and destination"() {
+        when:
+        processor.output("test", new DefaultTestOutputEvent(1, StdOut, "one\n"))
+        processor.output("test", new DefaultTestOutputEvent(2, StdOut, "two\n"))
+
+        then:
+        0 * delegate._
+
+        when:
+        processor.flush()
+
+        then:
+        1 * delegate.output("test", new DefaultTestOutputEvent(1, StdOut, "one\ntwo\n"))
+        0 * delegate._
+        processor.outputEvents == 2
+        processor.outputMessages == 1
+    }
+
+    def "forwards pending output when the test or destination changes"() {
+        when:
+        processor.output("test", new DefaultTestOutputEvent(1, StdOut, "out\n"))
+        processor.output("test", new DefaultTestOutputEvent(2, StdErr, "err\n"))
+        processor.output("other", new DefaultTestOutputEvent(3, StdErr, "other\n"))
+        processor.flush()
+
+        then:
+        1 * delegate.output("test", new DefaultTestOutputEvent(1, StdOut, "out\n"))
+
+        then:
+        1 * delegate.output("test", new DefaultTestOutputEvent(2, StdErr, "err\n"))
+
+        then:
+        1 * delegate.output("other", new DefaultTestOutputEvent(3, StdErr, "other\n"))
+        0 * delegate._
+    }
+
+    def "forwards pending output before other events"() {
+        def completeEvent = new TestCompleteEvent(4)
+
+        when:
+        processor.output("test", new DefaultTestOutputEvent(1, StdOut, "out\n"))
+        processor.completed("test", completeEvent)
+
+        then:
+        1 * delegate.output("test", new DefaultTestOutputEvent(1, StdOut, "out\n"))
+
+        then:
+        1 * delegate.completed("test", completeEvent)
+        0 * delegate._
+    }
+
+    def "forwards pending output once it gets large"() {
+        def line = "x" * 1024
+
+        when:
+        (BatchingTestResultProcessor.MAX_PENDING_OUTPUT_CHARS / 1024).times {
+            processor.output("test", new DefaultTestOutputEvent(1, StdOut, line))
+        }
+
+        then:
+        1 * delegate.output("test", { it.message.length() == BatchingTestResultProcessor.MAX_PENDING_OUTPUT_CHARS })
+        0 * delegate._
+    }
+}
@@ -38,6 +38,7 @@ dependencies {
     implementation(projects.logging)
     implementation(projects.baseServicesGroovy)
     implementation(projects.concurrent)
+    implementation(projects.io)
     implementation(projects.modelCore)
 
     implementation(libs.commonsLang)
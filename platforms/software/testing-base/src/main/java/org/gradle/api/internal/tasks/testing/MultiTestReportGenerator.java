@@ -16,6 +16,8 @@
 
 package org.gradle.api.internal.tasks.testing;
 
+import org.gradle.api.internal.tasks.testing.report.generic.LoadedTestResults;
+import org.gradle.api.internal.tasks.testing.report.generic.TestTreeModelReportGenerator;
 import org.jspecify.annotations.NullMarked;
 
 import java.nio.file.Path;
@@ -24,6 +26,8 @@
 
 /**
  * A {@link TestReportGenerator} that uses multiple report generators to generate reports. A primary generator is used as the user-facing report.
+ * <p>
+ * When all generators are {@link TestTreeModelReportGenerator}s, the results are read only once and shared between the generators.
  */
 @NullMarked
 public final class MultiTestReportGenerator implements TestReportGenerator {
@@ -43,6 +47,15 @@ public MultiTestReportGenerator(TestReportGenerator primary, Set<TestReportGener
 
     @Override
     public Path generate(List<Path> resultsDirectories) {
+        if (primary instanceof TestTreeModelReportGenerator && others.stream().allMatch(TestTreeModelReportGenerator.class::isInstance)) {
+            LoadedTestResults results = LoadedTestResults.load(resultsDirectories);
+            Path primaryReport = ((TestTreeModelReportGenerator) primary).generate(results);
+            for (TestReportGenerator other : others) {
+                ((TestTreeModelReportGenerator) other).generate(results);
+            }
+            return primaryReport;
+        }
+
         Path primaryReport = primary.generate(resultsDirectories);
         for (TestReportGenerator other : others) {
             other.generate(resultsDirectories);
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.tasks.testing.processors;
+
+import org.gradle.api.internal.tasks.testing.TestDefinition;
+import org.gradle.api.internal.tasks.testing.TestDefinitionProcessor;
+import org.gradle.api.internal.tasks.testing.TestResultProcessor;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Passes test definitions to its delegate longest first, using the durations of a previous run. Test definitions of
+ * equal estimated duration keep the order in which they were found.
+ * <p>
+ * Test definitions are collected until {@link #stop()}. When there are no previous durations, they are passed on as they arrive.
+ */
+public class LongestFirstTestDefinitionProcessor<D extends TestDefinition> implements TestDefinitionProcessor<D> {
+    private final PreviousTestDurations previousDurations;
+    private final TestDefinitionProcessor<D> delegate;
+    private final List<D> testDefinitions = new ArrayList<>();
+
+    /**
+     * @param previousDurations the durations in milliseconds of test definitions in a previous run, keyed by {@link TestDefinition#getId()}
+     */
+    public LongestFirstTestDefinitionProcessor(Map<String, Long> previousDurations, TestDefinitionProcessor<D> delegate) {
+        this.previousDurations = new PreviousTestDurations(previousDurations);
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void startProcessing(TestResultProcessor resultProcessor) {
+        delegate.startProcessing(resultProcessor);
+    }
+
+    @Override
+    public void processTestDefinition(D testDefinition) {
+        if (previousDurations.isEmpty()) {
+            delegate.processTestDefinition(testDefinition);
+        } else {
+            testDefinitions.add(testDefinition);
+        }
+    }
+
+    @Override
+    public void stop() {
+        testDefinitions.sort(Comparator.comparingLong(previousDurations::estimate).reversed());
+        for (D testDefinition : testDefinitions) {
+            delegate.processTestDefinition(testDefinition);
+        }
+        testDefinitions.clear();
+        delegate.stop();
+    }
+
+    @Override
+    public void stopNow() {
+        delegate.stopNow();
+    }
+}
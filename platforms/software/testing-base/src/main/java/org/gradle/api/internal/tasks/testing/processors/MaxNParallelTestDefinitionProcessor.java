@@ -28,12 +28,17 @@
 import org.gradle.internal.dispatch.DispatchException;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Manages a set of parallel {@link TestDefinitionProcessor}s.
  * <p>
- * Uses a simple round-robin algorithm to assign test definitions to processors.
+ * When no durations from a previous run are known, uses a simple round-robin algorithm to assign test definitions to processors.
+ * Otherwise, each test definition is assigned to the processor with the least estimated work. When test definitions arrive
+ * longest first, see {@link LongestFirstTestDefinitionProcessor}, this lets all processors finish at about the same time.
+ * Test definitions without a known duration are assumed to take the average of the known durations.
  */
 public class MaxNParallelTestDefinitionProcessor<D extends TestDefinition> implements TestDefinitionProcessor<D> {
     private final int maxProcessors;
@@ -41,6 +46,8 @@
     // for full compatibility, but in practice we don't need it.
     private final Factory<TestDefinitionProcessor<D>> factory;
     private final ActorFactory actorFactory;
+    private final PreviousTestDurations previousDurations;
+    private final long[] estimatedWork;
     private TestResultProcessor resultProcessor;
     private int pos;
     private final List<TestDefinitionProcessor<D>> processors = new ArrayList<>();
@@ -50,9 +57,18 @@
     private volatile boolean stoppedNow;
 
     public MaxNParallelTestDefinitionProcessor(int maxProcessors, Factory<TestDefinitionProcessor<D>> factory, ActorFactory actorFactory) {
+        this(maxProcessors, Collections.emptyMap(), factory, actorFactory);
+    }
+
+    /**
+     * @param previousDurations the durations in milliseconds of test definitions in a previous run, keyed by {@link TestDefinition#getId()}
+     */
+    public MaxNParallelTestDefinitionProcessor(int maxProcessors, Map<String, Long> previousDurations, Factory<TestDefinitionProcessor<D>> factory, ActorFactory actorFactory) {
         this.maxProcessors = maxProcessors;
         this.factory = factory;
         this.actorFactory = actorFactory;
+        this.previousDurations = new PreviousTestDurations(previousDurations);
+        this.estimatedWork = new long[maxProcessors];
     }
 
     @Override
@@ -68,15 +84,14 @@ public void processTestDefinition(D testDefinition) {
             return;
         }
 
+        if (!previousDurations.isEmpty()) {
+            processLeastLoaded(testDefinition);
+            return;
+        }
+
         TestDefinitionProcessor<D> processor;
         if (processors.size() < maxProcessors) {
-            processor = factory.create();
-            rawProcessors.add(processor);
-            Actor actor = actorFactory.createActor(processor);
-            processor = Cast.uncheckedNonnullCast(actor.getProxy(TestDefinitionProcessor.class));
-            actors.add(actor);
-            processors.add(processor);
-            processor.startProcessing(resultProcessor);
+            processor = startProcessor();
         } else {
             processor = processors.get(pos);
             pos = (pos + 1) % processors.size();
@@ -84,6 +99,35 @@ public void processTestDefinition(D testDefinition) {
         processor.processTestDefinition(testDefinition);
     }
 
+    private void processLeastLoaded(D testDefinition) {
+        int index;
+        if (processors.size() < maxProcessors) {
+            index = processors.size();
+            startProcessor();
+        } else {
+            index = 0;
+            for (int i = 1; i < estimatedWork.length; i++) {
+                if (estimatedWork[i] < estimatedWork[index]) {
+                    index = i;
+                }
+            }
+        }
+        // Count every test definition as at least 1ms, so very fast ones are still spread across processors
+        estimatedWork[index] += Math.max(1, previousDurations.estimate(testDefinition));
+        processors.get(index).processTestDefinition(testDefinition);
+    }
+
+    private TestDefinitionProcessor<D> startProcessor() {
+        TestDefinitionProcessor<D> processor = factory.create();
+        rawProcessors.add(processor);
+        Actor actor = actorFactory.createActor(processor);
+        processor = Cast.uncheckedNonnullCast(actor.getProxy(TestDefinitionProcessor.class));
+        actors.add(actor);
+        processors.add(processor);
+        processor.startProcessing(resultProcessor);
+        return processor;
+    }
+
     @Override
     public void stop() {
         try {
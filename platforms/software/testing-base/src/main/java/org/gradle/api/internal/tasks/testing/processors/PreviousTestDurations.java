@@ -0,0 +1,47 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.tasks.testing.processors;
+
+import org.gradle.api.internal.tasks.testing.TestDefinition;
+
+import java.util.Map;
+
+/**
+ * Estimates how long a test definition takes to run, based on the durations of test definitions in a previous run.
+ * Test definitions without a known duration are assumed to take the average of the known durations.
+ */
+final class PreviousTestDurations {
+    private final Map<String, Long> durations;
+    private final long averageDuration;
+
+    /**
+     * @param durations the durations in milliseconds of test definitions in a previous run, keyed by {@link TestDefinition#getId()}
+     */
+    PreviousTestDurations(Map<String, Long> durations) {
+        this.durations = durations;
+        this.averageDuration = durations.isEmpty() ? 0 : (long) durations.values().stream().mapToLong(Long::longValue).average().getAsDouble();
+    }
+
+    boolean isEmpty() {
+        return durations.isEmpty();
+    }
+
+    long estimate(TestDefinition testDefinition) {
+        Long duration = durations.get(testDefinition.getId());
+        return duration == null ? averageDuration : duration;
+    }
+}
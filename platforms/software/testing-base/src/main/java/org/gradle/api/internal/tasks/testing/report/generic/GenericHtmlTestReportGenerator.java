@@ -26,7 +26,6 @@
 import org.gradle.api.file.EmptyFileVisitor;
 import org.gradle.api.file.FileVisitDetails;
 import org.gradle.api.internal.file.FileCollectionFactory;
-import org.gradle.api.internal.tasks.testing.TestReportGenerator;
 import org.gradle.api.internal.tasks.testing.results.serializable.SerializableTestResult;
 import org.gradle.api.internal.tasks.testing.results.serializable.SerializableTestResultStore;
 import org.gradle.api.internal.tasks.testing.results.serializable.TestOutputReader;
@@ -68,7 +67,7 @@
  * <p>
  * The root results are recorded into `index.html`, and then each parent tells its children to generate starting at `{childName}/index.html`.
  */
-public abstract class GenericHtmlTestReportGenerator implements TestReportGenerator {
+public abstract class GenericHtmlTestReportGenerator implements TestTreeModelReportGenerator {
 
     private static final Logger LOG = Logging.getLogger(GenericHtmlTestReportGenerator.class);
 
@@ -119,12 +118,8 @@ public GenericHtmlTestReportGenerator(
     }
 
     @Override
-    public Path generate(List<Path> resultsDirectories) {
-        List<SerializableTestResultStore> stores = resultsDirectories.stream()
-            .distinct()
-            .map(SerializableTestResultStore::new)
-            .filter(SerializableTestResultStore::hasResults)
-            .collect(Collectors.toList());
+    public Path generate(LoadedTestResults results) {
+        List<SerializableTestResultStore> stores = results.getStores();
 
         try {
             Files.createDirectories(reportsDirectory);
@@ -138,8 +133,7 @@ public Path generate(List<Path> resultsDirectories) {
                 outputReaders.add(store.createOutputReader(testOutputEventSerializer));
             }
 
-            TestTreeModel root = TestTreeModel.loadModelFromStores(stores);
-            generateReport(root, outputReaders);
+            generateReport(results.getModel(), outputReaders);
         } catch (Exception e) {
             throw UncheckedException.throwAsUncheckedException(e);
         } finally {
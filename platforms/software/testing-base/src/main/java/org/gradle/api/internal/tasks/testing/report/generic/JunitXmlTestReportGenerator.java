@@ -16,7 +16,6 @@
 
 package org.gradle.api.internal.tasks.testing.report.generic;
 
-import org.gradle.api.internal.tasks.testing.TestReportGenerator;
 import org.gradle.api.internal.tasks.testing.junit.result.Binary2JUnitXmlReportGenerator;
 import org.gradle.api.internal.tasks.testing.junit.result.JUnitXmlResultOptions;
 import org.gradle.api.internal.tasks.testing.results.serializable.SerializableTestResultStore;
@@ -40,7 +39,7 @@
  * <p>
  * The root results are recorded into `index.html`, and then each parent tells its children to generate starting at `{childName}/index.html`.
  */
-public abstract class JunitXmlTestReportGenerator implements TestReportGenerator {
+public abstract class JunitXmlTestReportGenerator implements TestTreeModelReportGenerator {
     private final ObjectFactory objectFactory;
     private final Path reportsDirectory;
     private final JUnitXmlResultOptions xmlResultOptions;
@@ -54,6 +53,15 @@ public JunitXmlTestReportGenerator(ObjectFactory objectFactory, Path reportsDire
 
     @Override
     public Path generate(List<Path> resultsDirectories) {
+        // Fail before reading any results
+        checkSingleResultsDirectory(resultsDirectories);
+        return TestTreeModelReportGenerator.super.generate(resultsDirectories);
+    }
+
+    @Override
+    public Path generate(LoadedTestResults results) {
+        List<Path> resultsDirectories = results.getResultsDirectories();
+        checkSingleResultsDirectory(resultsDirectories);
         try {
             Files.createDirectories(reportsDirectory);
         } catch (IOException e) {
@@ -63,12 +71,10 @@ public Path generate(List<Path> resultsDirectories) {
         if (resultsDirectories.isEmpty()) {
             return reportsDirectory;
         }
-        if (resultsDirectories.size() > 1) {
-            throw new IllegalArgumentException("JunitXmlTestReportGenerator can only generate a report from a single results directory. Found: " + resultsDirectories);
-        }
 
         TestTreeModelResultsProvider.useResultsFrom(
             resultsDirectories.get(0),
+            results.getModel(),
             resultsProvider ->
                 objectFactory.newInstance(
                     Binary2JUnitXmlReportGenerator.class,
@@ -77,4 +83,10 @@ public Path generate(List<Path> resultsDirectories) {
         );
         return reportsDirectory;
     }
+
+    private static void checkSingleResultsDirectory(List<Path> resultsDirectories) {
+        if (resultsDirectories.size() > 1) {
+            throw new IllegalArgumentException("JunitXmlTestReportGenerator can only generate a report from a single results directory. Found: " + resultsDirectories);
+        }
+    }
 }
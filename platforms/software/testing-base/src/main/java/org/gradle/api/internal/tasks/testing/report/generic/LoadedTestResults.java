@@ -0,0 +1,72 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.tasks.testing.report.generic;
+
+import org.gradle.api.internal.tasks.testing.results.serializable.SerializableTestResultStore;
+import org.gradle.internal.UncheckedException;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * The test results in some results directories, with their {@link TestTreeModel} loaded once so that several
+ * {@link TestTreeModelReportGenerator}s can render reports from it.
+ */
+public final class LoadedTestResults {
+
+    public static LoadedTestResults load(List<Path> resultsDirectories) {
+        List<SerializableTestResultStore> stores = resultsDirectories.stream()
+            .distinct()
+            .map(SerializableTestResultStore::new)
+            .filter(SerializableTestResultStore::hasResults)
+            .collect(Collectors.toList());
+        try {
+            return new LoadedTestResults(resultsDirectories, stores, TestTreeModel.loadModelFromStores(stores));
+        } catch (Exception e) {
+            throw UncheckedException.throwAsUncheckedException(e);
+        }
+    }
+
+    private final List<Path> resultsDirectories;
+    private final List<SerializableTestResultStore> stores;
+    private final TestTreeModel model;
+
+    private LoadedTestResults(List<Path> resultsDirectories, List<SerializableTestResultStore> stores, TestTreeModel model) {
+        this.resultsDirectories = resultsDirectories;
+        this.stores = stores;
+        this.model = model;
+    }
+
+    /**
+     * The results directories the results were loaded from, including those without results.
+     */
+    public List<Path> getResultsDirectories() {
+        return resultsDirectories;
+    }
+
+    /**
+     * The stores that have results, in the order of the roots of {@link #getModel()}.
+     */
+    public List<SerializableTestResultStore> getStores() {
+        return stores;
+    }
+
+    public TestTreeModel getModel() {
+        return model;
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.tasks.testing.report.generic;
+
+import org.gradle.api.internal.tasks.testing.MultiTestReportGenerator;
+import org.gradle.api.internal.tasks.testing.TestReportGenerator;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * A {@link TestReportGenerator} that renders its report from a {@link TestTreeModel}.
+ * <p>
+ * {@link MultiTestReportGenerator} loads the results once and passes them to each of its generators of this type,
+ * instead of having each generator read all results again.
+ */
+public interface TestTreeModelReportGenerator extends TestReportGenerator {
+
+    @Override
+    default Path generate(List<Path> resultsDirectories) {
+        return generate(LoadedTestResults.load(resultsDirectories));
+    }
+
+    /**
+     * Generate a report from the given loaded results.
+     *
+     * @param results the loaded test results
+     * @return the path to the main file/directory of the generated report
+     */
+    Path generate(LoadedTestResults results);
+}
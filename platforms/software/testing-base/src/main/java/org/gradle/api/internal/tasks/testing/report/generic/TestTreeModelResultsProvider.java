@@ -65,14 +65,23 @@ public final class TestTreeModelResultsProvider implements TestResultsProvider {
 
     public static void useResultsFrom(Path resultsDir, Consumer<TestTreeModelResultsProvider> resultsConsumer) {
         SerializableTestResultStore resultsStore = new SerializableTestResultStore(resultsDir);
-        Serializer<TestOutputEvent> testOutputEventSerializer = TestEventSerializer.create().build(TestOutputEvent.class);
+        TestTreeModel root;
         try  {
-            TestTreeModel root = TestTreeModel.loadModelFromStores(Collections.singletonList(resultsStore));
-            TestTreeModelResultsProvider resultsProvider = new TestTreeModelResultsProvider(root, resultsStore.createOutputReader(testOutputEventSerializer));
-            resultsConsumer.accept(resultsProvider);
+            root = TestTreeModel.loadModelFromStores(Collections.singletonList(resultsStore));
         } catch (Exception e) {
             throw UncheckedException.throwAsUncheckedException(e);
         }
+        useResultsFrom(resultsDir, root, resultsConsumer);
+    }
+
+    /**
+     * Provides the results of the given model, which must have been loaded from the given results directory, reading output from that directory.
+     */
+    public static void useResultsFrom(Path resultsDir, TestTreeModel root, Consumer<TestTreeModelResultsProvider> resultsConsumer) {
+        SerializableTestResultStore resultsStore = new SerializableTestResultStore(resultsDir);
+        Serializer<TestOutputEvent> testOutputEventSerializer = TestEventSerializer.create().build(TestOutputEvent.class);
+        TestTreeModelResultsProvider resultsProvider = new TestTreeModelResultsProvider(root, resultsStore.createOutputReader(testOutputEventSerializer));
+        resultsConsumer.accept(resultsProvider);
     }
 
     private static final class ClassNode {
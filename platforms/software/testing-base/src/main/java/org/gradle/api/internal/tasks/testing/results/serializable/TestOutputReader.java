@@ -22,16 +22,21 @@
 import org.gradle.api.tasks.testing.TestOutputEvent;
 import org.gradle.internal.UncheckedException;
 import org.gradle.internal.concurrent.CompositeStoppable;
+import org.gradle.internal.io.ByteBufferInputStream;
 import org.gradle.internal.io.IoConsumer;
+import org.gradle.internal.os.OperatingSystem;
 import org.gradle.internal.serialize.Decoder;
 import org.gradle.internal.serialize.Serializer;
 import org.gradle.internal.serialize.kryo.KryoBackedDecoder;
+import org.jspecify.annotations.Nullable;
 
 import java.io.Closeable;
 import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 import java.nio.channels.SeekableByteChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -41,6 +46,10 @@
 
 /**
  * Reads test output from an output events file generated by {@link TestOutputWriter}.
+ * <p>
+ * Where possible, the output events file is memory-mapped once and shared by all reads, so reading the output of
+ * a test does not need a file channel or read calls. The decoder still copies the bytes into its own buffer, so this
+ * only saves the system calls.
  */
 public final class TestOutputReader implements Closeable {
     private final Path outputEventsFile;
@@ -49,6 +58,10 @@ public final class TestOutputReader implements Closeable {
      * Channels that are currently open and can be reused. We limit the pool size to avoid excessive resource usage.
      */
     private final BlockingQueue<SeekableByteChannel> channelPool = new LinkedBlockingQueue<>(64);
+    private final Object mappingLock = new Object();
+    private boolean mapped;
+    @Nullable
+    private ByteBuffer mappedOutputEvents;
 
     TestOutputReader(Path outputEventsFile, Serializer<TestOutputEvent> testOutputEventSerializer) {
         this.outputEventsFile = outputEventsFile;
@@ -116,6 +129,15 @@ private void useTestOutputEventsWithInfo(
         long end,
         LongPredicate matchesId
     ) throws IOException {
+        ByteBuffer mappedOutputEvents = getMappedOutputEvents();
+        if (mappedOutputEvents != null && end <= mappedOutputEvents.capacity()) {
+            ByteBuffer buffer = mappedOutputEvents.duplicate();
+            buffer.limit((int) end);
+            buffer.position((int) start);
+            iterateEvents(new KryoBackedDecoder(new ByteBufferInputStream(buffer)), matchesId, destination, eventConsumer);
+            return;
+        }
+
         SeekableByteChannel channel = requestChannel();
         try {
             channel.position(start);
@@ -173,6 +195,37 @@ private void iterateEvents(
         }
     }
 
+    /**
+     * Maps the output events file on first use. Returns {@code null} when the file cannot be mapped, in which case it is read through file channels.
+     */
+    @Nullable
+    private ByteBuffer getMappedOutputEvents() {
+        synchronized (mappingLock) {
+            if (!mapped) {
+                mapped = true;
+                mappedOutputEvents = mapOutputEvents();
+            }
+            return mappedOutputEvents;
+        }
+    }
+
+    @Nullable
+    private ByteBuffer mapOutputEvents() {
+        // A mapped file cannot be deleted on Windows until the mapping is garbage collected, which would break the next execution of the test task
+        if (OperatingSystem.current().isWindows()) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(outputEventsFile)) {
+            long size = channel.size();
+            if (size == 0 || size > Integer.MAX_VALUE) {
+                return null;
+            }
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
     private SeekableByteChannel requestChannel() {
         SeekableByteChannel open = channelPool.poll();
         if (open != null && open.isOpen()) {
@@ -211,6 +264,10 @@ private void returnChannel(SeekableByteChannel channel) {
 
     @Override
     public void close() throws IOException {
+        synchronized (mappingLock) {
+            // The mapping is released when it is garbage collected
+            mappedOutputEvents = null;
+        }
         CompositeStoppable.stoppable(channelPool).stop();
     }
 }
@@ -21,10 +21,14 @@
 import org.gradle.api.internal.tasks.testing.TestDefinition;
 import org.gradle.api.internal.tasks.testing.TestResultProcessor;
 import org.gradle.api.internal.tasks.testing.WorkerTestDefinitionProcessorFactory;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
 import org.gradle.internal.Cast;
 import org.gradle.internal.exceptions.DefaultMultiCauseException;
 import org.gradle.internal.nativeintegration.services.NativeServices.NativeServicesMode;
 import org.gradle.internal.remote.ObjectConnection;
+import org.gradle.internal.time.Time;
+import org.gradle.internal.time.Timer;
 import org.gradle.internal.work.WorkerLeaseRegistry;
 import org.gradle.internal.work.WorkerThreadRegistry;
 import org.gradle.process.JavaForkOptions;
@@ -41,11 +45,15 @@
 public class ForkingTestDefinitionProcessor<D extends TestDefinition> implements TestDefinitionProcessor<D> {
     public static final String GRADLE_TEST_WORKER_NAME = "Gradle Test Executor";
 
+    private static final Logger LOGGER = Logging.getLogger(ForkingTestDefinitionProcessor.class);
+    private static final long REPORT_LEASE_WAIT_MILLIS = 1000;
+
     private final WorkerProcessFactory workerFactory;
     private final WorkerTestDefinitionProcessorFactory<D> processorFactory;
     private final JavaForkOptions options;
     private final ForkedTestClasspath classpath;
     private final Action<WorkerProcessBuilder> buildConfigAction;
+    private final boolean batchOutputEvents;
     private final Lock lock = new ReentrantLock();
     private final WorkerThreadRegistry workerThreadRegistry;
     private RemoteTestDefinitionProcessor<D> remoteProcessor;
@@ -63,6 +71,21 @@ public ForkingTestDefinitionProcessor(
         JavaForkOptions options,
         ForkedTestClasspath classpath,
         Action<WorkerProcessBuilder> buildConfigAction
+    ) {
+        this(workerThreadRegistry, workerFactory, processorFactory, options, classpath, buildConfigAction, false);
+    }
+
+    /**
+     * @param batchOutputEvents whether the test worker should merge consecutive output events of a test before sending them, see {@link BatchingTestResultProcessor}
+     */
+    public ForkingTestDefinitionProcessor(
+        WorkerThreadRegistry workerThreadRegistry,
+        WorkerProcessFactory workerFactory,
+        WorkerTestDefinitionProcessorFactory<D> processorFactory,
+        JavaForkOptions options,
+        ForkedTestClasspath classpath,
+        Action<WorkerProcessBuilder> buildConfigAction,
+        boolean batchOutputEvents
     ) {
         this.workerThreadRegistry = workerThreadRegistry;
         this.workerFactory = workerFactory;
@@ -70,6 +93,7 @@ public ForkingTestDefinitionProcessor(
         this.options = options;
         this.classpath = classpath;
         this.buildConfigAction = buildConfigAction;
+        this.batchOutputEvents = batchOutputEvents;
     }
 
     @Override
@@ -86,7 +110,13 @@ public void processTestDefinition(D testDefinition) {
             }
 
             if (remoteProcessor == null) {
+                // Test workers of all Test tasks in the build share the worker leases, so this may wait for workers of other tasks to finish.
+                // Each Test task still owns its forks; the wait is only reported, to diagnose oversubscription across tasks.
+                Timer leaseWait = Time.startTimer();
                 completion = workerThreadRegistry.startWorker();
+                if (leaseWait.getElapsedMillis() >= REPORT_LEASE_WAIT_MILLIS) {
+                    LOGGER.info("Waited {} for a worker lease to start a test worker.", leaseWait.getElapsed());
+                }
                 try {
                     remoteProcessor = forkProcess();
                 } catch (RuntimeException e) {
@@ -103,7 +133,7 @@ public void processTestDefinition(D testDefinition) {
     }
 
     RemoteTestDefinitionProcessor<D> forkProcess() {
-        WorkerProcessBuilder builder = workerFactory.create(new TestWorker<>(processorFactory));
+        WorkerProcessBuilder builder = workerFactory.create(new TestWorker<>(processorFactory, batchOutputEvents));
         builder.setBaseName(GRADLE_TEST_WORKER_NAME);
         builder.setImplementationClasspath(classpath.getImplementationClasspath());
         builder.applicationClasspath(classpath.getApplicationClasspath());
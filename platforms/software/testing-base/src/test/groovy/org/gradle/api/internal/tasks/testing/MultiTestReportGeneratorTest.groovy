@@ -0,0 +1,74 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.tasks.testing
+
+import org.gradle.api.internal.tasks.testing.report.generic.LoadedTestResults
+import org.gradle.api.internal.tasks.testing.report.generic.TestTreeModelReportGenerator
+import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
+import org.junit.Rule
+import spock.lang.Specification
+
+import java.nio.file.Path
+
+class MultiTestReportGeneratorTest extends Specification {
+    @Rule
+    final TestNameTestDirectoryProvider tmpDir = new TestNameTestDirectoryProvider(getClass())
+
+    def html = Mock(TestTreeModelReportGenerator)
+    def xml = Mock(TestTreeModelReportGenerator)
+    def htmlReport = tmpDir.file("reports/html").toPath()
+    def resultsDirectories = [tmpDir.file("results").toPath()]
+
+    def "loads the results once and renders all reports from them"() {
+        def generator = new MultiTestReportGenerator(html, [xml] as Set)
+        LoadedTestResults htmlResults = null
+        LoadedTestResults xmlResults = null
+
+        when:
+        def report = generator.generate(resultsDirectories)
+
+        then:
+        1 * html.generate(_ as LoadedTestResults) >> { LoadedTestResults results ->
+            htmlResults = results
+            htmlReport
+        }
+        1 * xml.generate(_ as LoadedTestResults) >> { LoadedTestResults results ->
+            xmlResults = results
+            tmpDir.file("reports/xml").toPath()
+        }
+        0 * _.generate(_ as List)
+        report == htmlReport
+        htmlResults != null
+        htmlResults.is(xmlResults)
+        htmlResults.resultsDirectories == resultsDirectories
+    }
+
+    def "lets each generator load the results when one of them cannot render from loaded results"() {
+        def other = Mock(TestReportGenerator)
+        def generator = new MultiTestReportGenerator(html, [xml, other] as Set)
+
+        when:
+        def report = generator.generate(resultsDirectories)
+
+        then:
+        1 * html.generate(resultsDirectories) >> htmlReport
+        1 * xml.generate(resultsDirectories)
+        1 * other.generate(resultsDirectories)
+        0 * _.generate(_ as LoadedTestResults)
+        report == htmlReport
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.tasks.testing.processors
+
+import org.gradle.api.internal.tasks.testing.ClassTestDefinition
+import org.gradle.api.internal.tasks.testing.TestDefinitionProcessor
+import org.gradle.api.internal.tasks.testing.TestResultProcessor
+import spock.lang.Specification
+
+class LongestFirstTestDefinitionProcessorTest extends Specification {
+    TestDefinitionProcessor delegate = Mock()
+    TestResultProcessor testResultProcessor = Mock()
+
+    def 'test classes are passed to delegate longest first'() {
+        given:
+        def processor = new LongestFirstTestDefinitionProcessor([Class1: 10L, Class2: 50L, Class3: 30L], delegate)
+
+        when:
+        processor.startProcessing(testResultProcessor)
+        ['Class1', 'Class2', 'Class3', 'Class4'].each { processor.processTestDefinition(new ClassTestDefinition(it)) }
+
+        then:
+        1 * delegate.startProcessing(testResultProcessor)
+        0 * delegate.processTestDefinition(_)
+
+        when:
+        processor.stop()
+
+        then:
+        1 * delegate.processTestDefinition(new ClassTestDefinition('Class2'))
+        then:
+        1 * delegate.processTestDefinition(new ClassTestDefinition('Class3'))
+        then:
+        1 * delegate.processTestDefinition(new ClassTestDefinition('Class4'))
+        then:
+        1 * delegate.processTestDefinition(new ClassTestDefinition('Class1'))
+        then:
+        1 * delegate.stop()
+    }
+
+    def 'test classes are passed to delegate as they arrive when there are no previous durations'() {
+        given:
+        def processor = new LongestFirstTestDefinitionProcessor([:], delegate)
+
+        when:
+        processor.processTestDefinition(new ClassTestDefinition('Class1'))
+
+        then:
+        1 * delegate.processTestDefinition(new ClassTestDefinition('Class1'))
+    }
+}
@@ -169,6 +169,58 @@ class MaxNParallelTestDefinitionProcessorTest extends Specification {
         1 * asyncProcessor2.processTestDefinition(test)
     }
 
+    def "assigns each test definition to the least loaded processor when previous durations are known"() {
+        def processor = new MaxNParallelTestDefinitionProcessor(2, [slow: 100L, medium: 60L, fast: 50L, faster: 40L], factory, actorFactory)
+        def slow = testDefinition("slow")
+        def medium = testDefinition("medium")
+        def fast = testDefinition("fast")
+        def faster = testDefinition("faster")
+        def unknown = testDefinition("unknown")
+        TestDefinitionProcessor processor1 = Mock()
+        TestDefinitionProcessor processor2 = Mock()
+        TestDefinitionProcessor asyncProcessor1 = Mock()
+        TestDefinitionProcessor asyncProcessor2 = Mock()
+        Actor actor1 = Mock()
+        Actor actor2 = Mock()
+
+        1 * actorFactory.createActor(resultProcessor) >> resultProcessorActor
+        1 * resultProcessorActor.getProxy(TestResultProcessor) >> asyncResultProcessor
+        processor.startProcessing(resultProcessor)
+
+        when:
+        processor.processTestDefinition(slow)
+        processor.processTestDefinition(unknown)
+
+        then:
+        1 * factory.create() >> processor1
+        1 * actorFactory.createActor(processor1) >> actor1
+        1 * actor1.getProxy(TestDefinitionProcessor) >> asyncProcessor1
+        1 * asyncProcessor1.startProcessing(asyncResultProcessor)
+        1 * asyncProcessor1.processTestDefinition(slow)
+
+        then:
+        1 * factory.create() >> processor2
+        1 * actorFactory.createActor(processor2) >> actor2
+        1 * actor2.getProxy(TestDefinitionProcessor) >> asyncProcessor2
+        1 * asyncProcessor2.startProcessing(asyncResultProcessor)
+        1 * asyncProcessor2.processTestDefinition(unknown)
+
+        when:
+        processor.processTestDefinition(medium)
+        processor.processTestDefinition(fast)
+        processor.processTestDefinition(faster)
+
+        then:
+        1 * asyncProcessor2.processTestDefinition(medium)
+
+        then:
+        1 * asyncProcessor1.processTestDefinition(fast)
+
+        then:
+        1 * asyncProcessor2.processTestDefinition(faster)
+        0 * factory.create()
+    }
+
     def "stopNow propagates to factory created processors"() {
         TestDefinition test = Mock()
         TestDefinitionProcessor processor1 = Mock()
@@ -203,4 +255,10 @@ class MaxNParallelTestDefinitionProcessorTest extends Specification {
         1 * processor1.stopNow()
         1 * processor2.stopNow()
     }
+
+    private TestDefinition testDefinition(String id) {
+        TestDefinition testDefinition = Mock()
+        _ * testDefinition.getId() >> id
+        return testDefinition
+    }
 }
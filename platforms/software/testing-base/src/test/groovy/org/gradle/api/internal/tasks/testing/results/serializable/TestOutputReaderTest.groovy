@@ -0,0 +1,134 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.tasks.testing.results.serializable
+
+import org.gradle.api.internal.tasks.testing.DefaultTestOutputEvent
+import org.gradle.api.internal.tasks.testing.worker.TestEventSerializer
+import org.gradle.api.tasks.testing.TestOutputEvent
+import org.gradle.internal.io.IoConsumer
+import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
+import org.junit.Rule
+import spock.lang.Specification
+
+import java.nio.file.Files
+import java.nio.file.Path
+
+import static org.gradle.api.tasks.testing.TestOutputEvent.Destination.StdErr
+import static org.gradle.api.tasks.testing.TestOutputEvent.Destination.StdOut
+
+/**
+ * Tests for {@link TestOutputReader}.
+ */
+class TestOutputReaderTest extends Specification {
+    @Rule
+    final TestNameTestDirectoryProvider tmpDir = new TestNameTestDirectoryProvider(getClass())
+
+    def serializer = TestEventSerializer.create().build(TestOutputEvent)
+    Path outputEventsFile = tmpDir.file("output-events.bin").toPath()
+
+    def "reads the output of each entry only up to its end"() {
+        def writer = new TestOutputWriter(outputEventsFile, serializer)
+        writer.writeOutputEvent(1, event(StdOut, "1 out"))
+        writer.writeOutputEvent(2, event(StdOut, "2 out"))
+        writer.writeOutputEvent(1, event(StdErr, "1 err"))
+        def first = new OutputEntry(1, writer.finishOutput(1))
+        // Written after the end of the first entry, for the same id
+        writer.writeOutputEvent(1, event(StdOut, "1 out again"))
+        def firstAgain = new OutputEntry(1, writer.finishOutput(1))
+        writer.writeOutputEvent(2, event(StdErr, "2 err"))
+        def second = new OutputEntry(2, writer.finishOutput(2))
+        writer.close()
+
+        def reader = new TestOutputReader(outputEventsFile, serializer)
+
+        expect:
+        messages(reader, first, StdOut) == ["1 out"]
+        messages(reader, first, StdErr) == ["1 err"]
+        messages(reader, firstAgain, StdOut) == ["1 out again"]
+        messages(reader, firstAgain, StdErr) == []
+        messages(reader, second, StdOut) == ["2 out"]
+        messages(reader, second, StdErr) == ["2 err"]
+        messages(reader, [first, firstAgain], StdOut) == ["1 out", "1 out again"]
+
+        cleanup:
+        reader?.close()
+    }
+
+    def "reads the output of entries that end after the part of the file read first"() {
+        def writer = new TestOutputWriter(outputEventsFile, serializer)
+        writer.writeOutputEvent(1, event(StdOut, "1 out"))
+        def first = new OutputEntry(1, writer.finishOutput(1))
+        writer.writeOutputEvent(2, event(StdOut, "2 out"))
+        writer.writeOutputEvent(3, event(StdOut, "3 out"))
+        def second = new OutputEntry(2, writer.finishOutput(2))
+        def third = new OutputEntry(3, writer.finishOutput(3))
+        writer.close()
+
+        def content = Files.readAllBytes(outputEventsFile)
+        Files.write(outputEventsFile, Arrays.copyOf(content, (int) first.outputRanges.end))
+        def reader = new TestOutputReader(outputEventsFile, serializer)
+
+        when:
+        def firstMessages = messages(reader, first, StdOut)
+        Files.write(outputEventsFile, content)
+
+        then:
+        firstMessages == ["1 out"]
+        messages(reader, first, StdOut) == ["1 out"]
+        messages(reader, second, StdOut) == ["2 out"]
+        messages(reader, third, StdOut) == ["3 out"]
+        messages(reader, [first, second, third], StdOut) == ["1 out", "2 out", "3 out"]
+
+        cleanup:
+        reader?.close()
+    }
+
+    def "reads nothing for entries without output"() {
+        def writer = new TestOutputWriter(outputEventsFile, serializer)
+        writer.writeOutputEvent(1, event(StdOut, "1 out"))
+        def first = new OutputEntry(1, writer.finishOutput(1))
+        def second = new OutputEntry(2, writer.finishOutput(2))
+        writer.close()
+
+        def reader = new TestOutputReader(outputEventsFile, serializer)
+
+        expect:
+        !reader.hasOutput(first, StdErr)
+        !reader.hasOutput(second, StdOut)
+        messages(reader, first, StdErr) == []
+        messages(reader, second, StdOut) == []
+
+        cleanup:
+        reader?.close()
+    }
+
+    private static DefaultTestOutputEvent event(TestOutputEvent.Destination destination, String message) {
+        return new DefaultTestOutputEvent(destination, message)
+    }
+
+    private static List<String> messages(TestOutputReader reader, OutputEntry entry, TestOutputEvent.Destination destination) {
+        List<String> messages = []
+        reader.useTestOutputEvents(entry, destination, { TestOutputEvent event -> messages << event.message } as IoConsumer<TestOutputEvent>)
+        return messages
+    }
+
+    private static List<String> messages(TestOutputReader reader, List<OutputEntry> entries, TestOutputEvent.Destination destination) {
+        List<String> messages = []
+        reader.useTestOutputEvents(entries, destination, { TestOutputEvent event -> messages << event.message } as IoConsumer<TestOutputEvent>)
+        return messages
+    }
+}
@@ -16,6 +16,7 @@
 package org.gradle.api.tasks.bundling;
 
 import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.gradle.StartParameter;
 import org.gradle.api.InvalidUserDataException;
 import org.gradle.api.internal.DocumentationRegistry;
 import org.gradle.api.internal.file.archive.ZipCopyAction;
@@ -25,6 +26,9 @@
 import org.gradle.api.tasks.Input;
 import org.gradle.api.tasks.Internal;
 import org.gradle.api.tasks.Optional;
+import org.gradle.internal.buildoption.InternalFlag;
+import org.gradle.internal.buildoption.InternalOptions;
+import org.gradle.internal.concurrent.ExecutorFactory;
 import org.gradle.internal.instrumentation.api.annotations.ToBeReplacedByLazyProperty;
 import org.gradle.work.DisableCachingByDefault;
 import org.jspecify.annotations.Nullable;
@@ -39,6 +43,7 @@
 @DisableCachingByDefault(because = "Not worth caching")
 public abstract class Zip extends AbstractArchiveTask {
     public static final String ZIP_EXTENSION = "zip";
+    private static final InternalFlag PARALLEL_DEFLATE = new InternalFlag("org.gradle.internal.archive.parallel-deflate", false);
     private ZipEntryCompression entryCompression = ZipEntryCompression.DEFLATED;
     private boolean allowZip64;
     private String metadataCharset;
@@ -63,7 +68,11 @@ protected ZipCompressor getCompressor() {
     @Override
     protected CopyAction createCopyAction() {
         DocumentationRegistry documentationRegistry = getServices().get(DocumentationRegistry.class);
-        return new ZipCopyAction(getArchiveFile().get().getAsFile(), getCompressor(), documentationRegistry, metadataCharset, isPreserveFileTimestamps());
+        ExecutorFactory deflateExecutorFactory = entryCompression == ZipEntryCompression.DEFLATED && getServices().get(InternalOptions.class).getOption(PARALLEL_DEFLATE).get()
+            ? getServices().get(ExecutorFactory.class)
+            : null;
+        return new ZipCopyAction(getArchiveFile().get().getAsFile(), getCompressor(), documentationRegistry, metadataCharset, isPreserveFileTimestamps(),
+            deflateExecutorFactory, getServices().get(StartParameter.class).getMaxWorkerCount());
     }
 
     /**
@@ -43,6 +43,7 @@
 import org.gradle.api.model.ObjectFactory;
 import org.gradle.api.provider.ProviderFactory;
 import org.gradle.api.tasks.util.internal.PatternSetFactory;
+import org.gradle.internal.concurrent.ExecutorFactory;
 import org.gradle.internal.file.Deleter;
 import org.gradle.internal.file.PathToFileResolver;
 import org.gradle.internal.hash.FileHasher;
@@ -54,6 +55,7 @@
 import org.gradle.internal.service.ServiceRegistration;
 import org.gradle.internal.service.ServiceRegistrationProvider;
 import org.gradle.internal.service.ServiceRegistry;
+import org.gradle.internal.work.WorkerLimits;
 import org.gradle.process.ExecOperations;
 import org.gradle.process.internal.DefaultExecOperations;
 import org.gradle.process.internal.ExecFactory;
@@ -106,7 +108,9 @@ protected FileOperations createFileOperations(
         ProviderFactory providers,
         TaskDependencyFactory taskDependencyFactory,
         DecompressionCoordinator decompressionCoordinator,
-        TemporaryFileProvider temporaryFileProvider
+        TemporaryFileProvider temporaryFileProvider,
+        ExecutorFactory executorFactory,
+        WorkerLimits workerLimits
     ) {
         return new DefaultFileOperations(
             fileResolver,
@@ -123,7 +127,9 @@ protected FileOperations createFileOperations(
             taskDependencyFactory,
             providers,
             decompressionCoordinator,
-            temporaryFileProvider
+            temporaryFileProvider,
+            executorFactory,
+            workerLimits
         );
     }
 
@@ -41,7 +41,9 @@
 import static org.gradle.api.file.FileVisitorUtil.assertVisits;
 import static org.gradle.api.tasks.AntBuilderAwareUtil.assertSetContainsForAllTypes;
 import static org.gradle.util.internal.WrapUtil.toList;
+import static org.hamcrest.CoreMatchers.equalTo;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 /**
  * Abstract base class for all tests of {@link AbstractArchiveFileTree} implementations which tests common
@@ -152,6 +154,22 @@ public void visitsContentsOfArchiveFile() {
         assertSetContainsForAllTypes(getTree(), toList("subdir/file1.txt", "subdir2/file2.txt"));
     }
 
+    @Test
+    public void mirrorsAllElementsOfArchiveFile() {
+        for (int i = 0; i < 20; i++) {
+            rootDir.file("subdir" + (i % 3) + "/file" + i + ".txt").write("content " + i);
+        }
+        archiveFileToRoot(getArchiveFile());
+
+        assertTrue(getTree().mirrorAllElements());
+        assertTrue(getTree().mirrorAllElements());
+
+        TestFile mirrorDir = new TestFile(getTree().getMirror().getDir());
+        for (int i = 0; i < 20; i++) {
+            mirrorDir.file("subdir" + (i % 3) + "/file" + i + ".txt").assertContents(equalTo("content " + i));
+        }
+    }
+
     @Test
     public void canStopVisitingFiles() {
         rootDir.file("subdir/file1.txt").write("content");
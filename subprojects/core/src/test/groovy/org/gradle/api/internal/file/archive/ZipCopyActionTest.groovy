@@ -25,12 +25,16 @@ import org.gradle.api.internal.file.copy.CopyActionProcessingStream
 import org.gradle.api.internal.file.copy.DefaultZipCompressor
 import org.gradle.api.internal.file.copy.FileCopyDetailsInternal
 import org.gradle.api.tasks.bundling.Zip
+import org.gradle.internal.concurrent.DefaultExecutorFactory
 import org.gradle.test.fixtures.archive.ZipTestFixture
 import org.gradle.test.fixtures.file.TestFile
 import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
 import org.junit.Rule
 import spock.lang.Specification
 
+import java.util.zip.ZipEntry
+import java.util.zip.ZipFile
+
 import static org.gradle.api.internal.file.copy.CopyActionExecuterUtil.visit
 import static org.hamcrest.CoreMatchers.equalTo
 
@@ -74,6 +78,74 @@ class ZipCopyActionTest extends Specification {
         expandDir.file("file2").assertContents(equalTo("contents of file2"))
     }
 
+    void createsZipFileWithEntriesDeflatedInParallel() {
+        given:
+        def executorFactory = new DefaultExecutorFactory()
+        visitor = new ZipCopyAction(zipFile, new DefaultZipCompressor(false, ZipArchiveOutputStream.DEFLATED), new DocumentationRegistry(), encoding, false, executorFactory, 4)
+        def largeContent = "x" * (5 * 1024 * 1024)
+
+        when:
+        zip(dir("dir"), file("dir/file1"), file("lib/nested.jar"), file("file2"), file("large", largeContent), file("lib/large.jar", largeContent), file("file3"))
+
+        then:
+        def zip = new ZipFile(zipFile)
+        zip.entries().collect { it.name } == ["dir/", "dir/file1", "lib/nested.jar", "file2", "large", "lib/large.jar", "file3"]
+        zip.getEntry("dir/file1").method == ZipEntry.DEFLATED
+        zip.getEntry("lib/nested.jar").method == ZipEntry.STORED
+        zip.getEntry("large").method == ZipEntry.DEFLATED
+        zip.getEntry("lib/large.jar").method == ZipEntry.DEFLATED
+        zip.getInputStream(zip.getEntry("dir/file1")).text == "contents of dir/file1"
+        zip.getInputStream(zip.getEntry("lib/nested.jar")).text == "contents of lib/nested.jar"
+        zip.getInputStream(zip.getEntry("large")).text == largeContent
+        zip.getInputStream(zip.getEntry("lib/large.jar")).text == largeContent
+
+        cleanup:
+        zip?.close()
+        executorFactory.stop()
+    }
+
+    void entriesDeflatedInParallelAreTheSameAsEntriesDeflatedSequentially() {
+        given:
+        def executorFactory = new DefaultExecutorFactory()
+        def sequentialZipFile = tmpDir.getTestDirectory().file("sequential.zip")
+        def parallelZipFile = tmpDir.getTestDirectory().file("parallel.zip")
+        def random = new Random(42)
+        def largeContent = (1..700_000).collect { "line ${random.nextInt(1000)}\n" }.join()
+        def files = [dir("dir"), file("dir/file1"), file("dir/empty", ""), dir("dir/sub"), file("dir/sub/large", largeContent), file("file2")]
+
+        when:
+        visitor = new ZipCopyAction(sequentialZipFile, new DefaultZipCompressor(false, ZipArchiveOutputStream.DEFLATED), new DocumentationRegistry(), encoding, false)
+        zip(files as FileCopyDetailsInternal[])
+        visitor = new ZipCopyAction(parallelZipFile, new DefaultZipCompressor(false, ZipArchiveOutputStream.DEFLATED), new DocumentationRegistry(), encoding, false, executorFactory, 4)
+        zip(files as FileCopyDetailsInternal[])
+
+        then:
+        largeContent.length() > 4 * 1024 * 1024
+        parallelZipFile.bytes == sequentialZipFile.bytes
+
+        cleanup:
+        executorFactory.stop()
+    }
+
+    void wrapsFailureToAddElementWhenDeflatingInParallel() {
+        given:
+        def executorFactory = new DefaultExecutorFactory()
+        visitor = new ZipCopyAction(zipFile, new DefaultZipCompressor(false, ZipArchiveOutputStream.DEFLATED), new DocumentationRegistry(), encoding, false, executorFactory, 4)
+        Throwable failure = new RuntimeException("broken")
+        def brokenFile = brokenFile("dir/file1", failure)
+
+        when:
+        visit(visitor, brokenFile)
+
+        then:
+        def e = thrown(Exception)
+        e.message == String.format("Could not add $brokenFile to ZIP '%s'.", zipFile)
+        e.cause.is(failure)
+
+        cleanup:
+        executorFactory.stop()
+    }
+
     void zipFileContainsExpectedPermissions() {
         given:
         zip(dir("dir"), file("file"))
@@ -153,14 +225,14 @@ class ZipCopyActionTest extends Specification {
         })
     }
 
-    private FileCopyDetailsInternal file(final String path) {
+    private FileCopyDetailsInternal file(final String path, final String content = "contents of $path") {
         def mock = Mock(FileCopyDetailsInternal)
         mock.getRelativePath() >> RelativePath.parse(false, path)
         mock.getLastModified() >> 1000L
         mock.isDirectory() >> false
         mock.getPermissions() >> new DefaultFilePermissions(1)
         mock.copyTo(_ as OutputStream) >> { OutputStream out ->
-            out << "contents of $path"
+            out << content
         }
         mock
     }
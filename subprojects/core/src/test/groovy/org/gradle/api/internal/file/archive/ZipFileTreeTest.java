@@ -21,6 +21,7 @@
 import org.gradle.api.internal.file.TestFiles;
 import org.gradle.api.internal.provider.Providers;
 import org.gradle.cache.internal.TestDecompressionCoordinators;
+import org.gradle.internal.concurrent.DefaultExecutorFactory;
 import org.gradle.test.fixtures.file.TestFile;
 import org.junit.Test;
 
@@ -34,6 +35,7 @@
 import static org.gradle.api.internal.file.TestFiles.fileSystem;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 public class ZipFileTreeTest extends AbstractArchiveFileTreeTest {
@@ -46,7 +48,9 @@ private ZipFileTree zipTree(File archiveFile) {
             directoryFileTreeFactory(),
             fileHasher(),
             TestDecompressionCoordinators.decompressionCoordinator(tempDirProvider.getTestDirectory().createDir("cache-dir")),
-            TestFiles.tmpDirTemporaryFileProvider(tempDirProvider.getTestDirectory()));
+            TestFiles.tmpDirTemporaryFileProvider(tempDirProvider.getTestDirectory()),
+            new DefaultExecutorFactory(),
+            4);
     }
 
     @Override
@@ -98,6 +102,36 @@ public void wrapsFailureToUnarchiveFile() {
         }
     }
 
+    @Test
+    public void mirrorsAllElementsAgainWhenExpandedDirectoryIsDeleted() {
+        rootDir.file("subdir/file1.txt").write("content 1");
+        rootDir.file("subdir2/file2.txt").write("content 2");
+        archiveFileToRoot(archiveFile);
+
+        assertTrue(tree.mirrorAllElements());
+        TestFile mirrorDir = new TestFile(tree.getMirror().getDir());
+        mirrorDir.deleteDir();
+
+        assertTrue(tree.mirrorAllElements());
+        mirrorDir.file("subdir/file1.txt").assertContents(equalTo("content 1"));
+        mirrorDir.file("subdir2/file2.txt").assertContents(equalTo("content 2"));
+    }
+
+    @Test
+    public void mirrorsAllElementsAgainWhenExpandedFileIsDeleted() {
+        rootDir.file("subdir/file1.txt").write("content 1");
+        rootDir.file("subdir2/file2.txt").write("content 2");
+        archiveFileToRoot(archiveFile);
+
+        assertTrue(tree.mirrorAllElements());
+        TestFile mirrorDir = new TestFile(tree.getMirror().getDir());
+        mirrorDir.file("subdir2/file2.txt").delete();
+
+        assertTrue(tree.mirrorAllElements());
+        mirrorDir.file("subdir/file1.txt").assertContents(equalTo("content 1"));
+        mirrorDir.file("subdir2/file2.txt").assertContents(equalTo("content 2"));
+    }
+
     @Test
     public void expectedFilePermissionsAreFound() {
         resources.findResource("permissions.zip").copyTo(archiveFile);
@@ -49,6 +49,7 @@
 import org.gradle.internal.vfs.VirtualFileSystem;
 import org.gradle.internal.vfs.impl.DefaultFileSystemAccess;
 import org.gradle.internal.vfs.impl.DefaultSnapshotHierarchy;
+import org.gradle.internal.work.DefaultWorkerLimits;
 import org.gradle.process.internal.ClientExecHandleBuilderFactory;
 import org.gradle.process.internal.DefaultClientExecHandleBuilderFactory;
 import org.gradle.process.internal.DefaultExecActionFactory;
@@ -177,7 +178,9 @@ public static FileOperations fileOperations(File basedDir, TemporaryFileProvider
             taskDependencyFactory(),
             providerFactory(),
             TestDecompressionCoordinators.decompressionCoordinator(temporaryFileProvider.newTemporaryDirectory("cache-dir")),
-            temporaryFileProvider
+            temporaryFileProvider,
+            new DefaultExecutorFactory(),
+            new DefaultWorkerLimits(4)
         );
     }
 